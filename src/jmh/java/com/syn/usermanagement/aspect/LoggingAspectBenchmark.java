@@ -0,0 +1,47 @@
+package com.syn.usermanagement.aspect;
+
+import com.syn.usermanagement.entity.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Argument formatting done by the logging aspect on every controller/service call
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoggingAspectBenchmark {
+
+    private LoggingAspect loggingAspect;
+    private Object[] userArgs;
+    private Object[] idArgs;
+
+    @Setup
+    public void setUp() {
+        loggingAspect = new LoggingAspect();
+
+        User user = new User();
+        user.setId(42L);
+        user.setName("Jane Benchmark");
+        user.setEmail("jane.benchmark@example.com");
+        user.setPassword("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z5ZpKFzB4i9ZQj8FfQ6R1mTi");
+        user.setPhotoUrl("https://bucket.s3.us-east-1.amazonaws.com/photos/user_42_3f0c1c9e.jpg");
+
+        userArgs = new Object[]{42L, user};
+        idArgs = new Object[]{42L};
+    }
+
+    @Benchmark
+    public String formatUserArgs() {
+        return loggingAspect.formatArgs(userArgs);
+    }
+
+    @Benchmark
+    public String formatIdArgs() {
+        return loggingAspect.formatArgs(idArgs);
+    }
+}
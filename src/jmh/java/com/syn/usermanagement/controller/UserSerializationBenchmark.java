@@ -0,0 +1,112 @@
+package com.syn.usermanagement.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.syn.usermanagement.dto.ErrorResponse;
+import com.syn.usermanagement.dto.PageResponse;
+import com.syn.usermanagement.dto.UserResponse;
+import com.syn.usermanagement.entity.User;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON cost per response: Page&lt;User&gt; and Map error bodies as returned before,
+ * versus the response records, with and without Blackbird. Payload sizes are
+ * printed once per trial (bytes saved); the scores are CPU time per response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserSerializationBenchmark {
+
+    @Param({"3", "50"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private ObjectMapper blackbirdMapper;
+    private Page<User> page;
+    private PageResponse<UserResponse> pageResponse;
+    private User user;
+    private Map<String, Object> errorMap;
+    private ErrorResponse errorResponse;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        blackbirdMapper = Jackson2ObjectMapperBuilder.json().modulesToInstall(new BlackbirdModule()).build();
+
+        List<User> users = new ArrayList<>();
+        for (long id = 1; id <= pageSize; id++) {
+            users.add(new User(id, "User " + id, "user" + id + "@example.com",
+                    "$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z5ZpKFzB4i9ZQj8FfQ6R1mTi",
+                    "https://bucket.s3.us-east-1.amazonaws.com/photos/user_" + id + ".jpg",
+                    User.Role.USER, null, 0L));
+        }
+        user = users.get(0);
+        page = new PageImpl<>(users, PageRequest.of(0, pageSize, Sort.by("id")), 10_000);
+        pageResponse = PageResponse.from(page, UserResponse::from);
+
+        errorMap = new HashMap<>();
+        errorMap.put("timestamp", "2024-03-01T12:00:00.000000");
+        errorMap.put("status", 404);
+        errorMap.put("error", "Not Found");
+        errorMap.put("message", "User not found with id: 987654");
+        errorMap.put("path", "/api/users/987654");
+        errorResponse = new ErrorResponse("2024-03-01T12:00:00.000000", 404, "Not Found",
+                "User not found with id: 987654", "/api/users/987654", null);
+
+        System.out.printf("%nbytes per response (pageSize=%d): page entity=%d dto=%d | user entity=%d dto=%d | error map=%d record=%d%n",
+                pageSize,
+                objectMapper.writeValueAsBytes(page).length, objectMapper.writeValueAsBytes(pageResponse).length,
+                objectMapper.writeValueAsBytes(user).length, objectMapper.writeValueAsBytes(UserResponse.from(user)).length,
+                objectMapper.writeValueAsBytes(errorMap).length, objectMapper.writeValueAsBytes(errorResponse).length);
+    }
+
+    @Benchmark
+    public byte[] pageOfEntities() throws Exception {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] pageOfDtos() throws Exception {
+        return objectMapper.writeValueAsBytes(PageResponse.from(page, UserResponse::from));
+    }
+
+    @Benchmark
+    public byte[] pageOfDtosBlackbird() throws Exception {
+        return blackbirdMapper.writeValueAsBytes(PageResponse.from(page, UserResponse::from));
+    }
+
+    @Benchmark
+    public byte[] userEntity() throws Exception {
+        return objectMapper.writeValueAsBytes(user);
+    }
+
+    @Benchmark
+    public byte[] userDtoBlackbird() throws Exception {
+        return blackbirdMapper.writeValueAsBytes(UserResponse.from(user));
+    }
+
+    @Benchmark
+    public byte[] errorAsMap() throws Exception {
+        return objectMapper.writeValueAsBytes(errorMap);
+    }
+
+    @Benchmark
+    public byte[] errorAsRecordBlackbird() throws Exception {
+        return blackbirdMapper.writeValueAsBytes(errorResponse);
+    }
+}
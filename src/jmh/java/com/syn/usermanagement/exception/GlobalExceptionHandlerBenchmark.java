@@ -0,0 +1,70 @@
+package com.syn.usermanagement.exception;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 404 throughput, from throwing the exception to the serialized body: the
+ * previous path (stack trace, three log lines, map body) versus stackless
+ * exceptions with counted, sampled logging. Logs go to target/jmh.log.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GlobalExceptionHandlerBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandlerBenchmark.class);
+
+    private GlobalExceptionHandler handler;
+    private ObjectMapper objectMapper;
+    private MockHttpServletRequest request;
+
+    @Setup
+    public void setUp() {
+        handler = new GlobalExceptionHandler(new SimpleMeterRegistry(), 1000);
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        request = new MockHttpServletRequest("GET", "/api/users/987654");
+    }
+
+    @Benchmark
+    public byte[] notFound() throws Exception {
+        try {
+            throw new ResourceNotFoundException("User not found with id: 987654");
+        } catch (ResourceNotFoundException e) {
+            return objectMapper.writeValueAsBytes(handler.handleResourceNotFound(e, request).getBody());
+        }
+    }
+
+    @Benchmark
+    public byte[] notFoundBefore() throws Exception {
+        try {
+            throw new RuntimeException("User not found with id: 987654");
+        } catch (RuntimeException e) {
+            // Service warning, aspect stack trace, handler warning
+            logger.warn("USER_NOT_FOUND | UserId: {}", 987654);
+            logger.error("🔥 EXCEPTION in UserService.getUserById() - Message: {}", e.getMessage(), e);
+            logger.warn("🔍 RESOURCE NOT FOUND - URI: {} - Message: {}", request.getRequestURI(), e.getMessage());
+
+            Map<String, Object> body = new HashMap<>();
+            body.put("timestamp", LocalDateTime.now().toString());
+            body.put("status", 404);
+            body.put("error", "Resource Not Found");
+            body.put("message", e.getMessage());
+            body.put("path", request.getRequestURI());
+            return objectMapper.writeValueAsBytes(body);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.syn.usermanagement.filter;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request work of the MDC filter: request id and client IP resolution
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MdcRequestFilterBenchmark {
+
+    private MockHttpServletRequest directRequest;
+    private MockHttpServletRequest proxiedRequest;
+
+    @Setup
+    public void setUp() {
+        directRequest = new MockHttpServletRequest("GET", "/api/users/42");
+        directRequest.setRemoteAddr("10.0.0.12");
+
+        proxiedRequest = new MockHttpServletRequest("GET", "/api/users/42");
+        proxiedRequest.addHeader("X-Forwarded-For", "203.0.113.7, 10.0.0.2, 10.0.0.3");
+        proxiedRequest.setRemoteAddr("10.0.0.3");
+    }
+
+    @Benchmark
+    public String generateRequestId() {
+        return MdcRequestFilter.generateRequestId();
+    }
+
+    @Benchmark
+    public String clientIpDirect() {
+        return MdcRequestFilter.getClientIp(directRequest);
+    }
+
+    @Benchmark
+    public String clientIpForwarded() {
+        return MdcRequestFilter.getClientIp(proxiedRequest);
+    }
+}
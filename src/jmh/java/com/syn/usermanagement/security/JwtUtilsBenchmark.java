@@ -0,0 +1,58 @@
+package com.syn.usermanagement.security;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT issue / parse / validate cost - HMAC-SHA with the shared secret versus
+ * ES256 (ephemeral key pair)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtUtilsBenchmark {
+
+    @Param({"HS256", "ES256"})
+    private String algorithm;
+
+    private JwtUtils jwtUtils;
+    private UserDetails userDetails;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        JwtSigningProperties signing = new JwtSigningProperties();
+        signing.setAlgorithm(algorithm);
+        jwtUtils = new JwtUtils(new JwtKeyProvider(
+                "dGhpc0lzQVZlcnlMb25nU2VjcmV0S2V5Rm9ySldUVG9rZW5HZW5lcmF0aW9uMTIzNDU2Nzg5MA==", signing));
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpiration", 86400000L);
+
+        userDetails = new User("bench@example.com", "ignored",
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        token = jwtUtils.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtils.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtUtils.extractUsername(token);
+    }
+
+    @Benchmark
+    public Boolean validateToken() {
+        return jwtUtils.validateToken(token, userDetails);
+    }
+}
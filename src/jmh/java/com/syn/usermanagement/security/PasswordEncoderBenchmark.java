@@ -0,0 +1,40 @@
+package com.syn.usermanagement.security;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BCrypt encode / match cost per work factor (each step doubles the cost)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class PasswordEncoderBenchmark {
+
+    @Param({"4", "8", "10", "12"})
+    private int strength;
+
+    private BCryptPasswordEncoder encoder;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        encoder = new BCryptPasswordEncoder(strength);
+        hash = encoder.encode("correct horse battery staple");
+    }
+
+    @Benchmark
+    public String encode() {
+        return encoder.encode("correct horse battery staple");
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return encoder.matches("correct horse battery staple", hash);
+    }
+}
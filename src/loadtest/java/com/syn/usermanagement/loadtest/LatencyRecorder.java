@@ -0,0 +1,128 @@
+package com.syn.usermanagement.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-endpoint latency histograms and error counts, plus the latency budget check
+ */
+public class LatencyRecorder {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+    private volatile boolean recording;
+
+    public void startRecording() {
+        stats.clear();
+        recording = true;
+    }
+
+    public void stopRecording() {
+        recording = false;
+    }
+
+    /**
+     * Record one request; latency is measured from the intended start time
+     * so queueing behind a slow server is not hidden (coordinated omission)
+     */
+    public void record(String endpoint, long intendedStartNanos, boolean success) {
+        if (!recording) {
+            return;
+        }
+        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedStartNanos);
+        EndpointStats endpointStats = stats.computeIfAbsent(endpoint, e -> new EndpointStats());
+        endpointStats.histogram.recordValue(Math.min(Math.max(micros, 1), HIGHEST_TRACKABLE_MICROS));
+        if (!success) {
+            endpointStats.errors.incrementAndGet();
+        }
+    }
+
+    public Map<String, Map<String, Object>> summary(double durationSeconds) {
+        Map<String, Map<String, Object>> summary = new LinkedHashMap<>();
+        stats.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> {
+                    Histogram h = entry.getValue().histogram;
+                    long count = h.getTotalCount();
+                    long errors = entry.getValue().errors.get();
+
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    row.put("count", count);
+                    row.put("errors", errors);
+                    row.put("errorRate", count == 0 ? 0.0 : (double) errors / count);
+                    row.put("throughput", count / durationSeconds);
+                    row.put("p50", millis(h.getValueAtPercentile(50)));
+                    row.put("p99", millis(h.getValueAtPercentile(99)));
+                    row.put("p999", millis(h.getValueAtPercentile(99.9)));
+                    row.put("max", millis(h.getMaxValue()));
+                    summary.put(entry.getKey(), row);
+                });
+        return summary;
+    }
+
+    public void print(Map<String, Map<String, Object>> summary) {
+        System.out.printf("%n%-16s %8s %7s %9s %10s %10s %10s %10s%n",
+                "endpoint", "count", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        summary.forEach((endpoint, row) -> System.out.printf("%-16s %8d %7d %9.1f %10.2f %10.2f %10.2f %10.2f%n",
+                endpoint, row.get("count"), row.get("errors"), row.get("throughput"),
+                row.get("p50"), row.get("p99"), row.get("p999"), row.get("max")));
+        System.out.println();
+    }
+
+    public void writeJson(Map<String, Map<String, Object>> summary, Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), summary);
+    }
+
+    /**
+     * Compare the summary against a budget of {@code <endpoint>.<p50|p99|p999>} limits in
+     * milliseconds and {@code <endpoint>.error-rate} limits ({@code default.*} applies to every endpoint)
+     */
+    public static List<String> checkBudget(Map<String, Map<String, Object>> summary, Properties budget) {
+        List<String> violations = new ArrayList<>();
+        summary.forEach((endpoint, row) -> {
+            for (String metric : List.of("p50", "p99", "p999")) {
+                String limit = limit(budget, endpoint, metric);
+                if (limit != null && (double) row.get(metric) > Double.parseDouble(limit)) {
+                    violations.add(String.format("%s %s %.2f ms > budget %s ms",
+                            endpoint, metric, (double) row.get(metric), limit));
+                }
+            }
+            String errorLimit = limit(budget, endpoint, "error-rate");
+            if (errorLimit != null && (double) row.get("errorRate") > Double.parseDouble(errorLimit)) {
+                violations.add(String.format("%s error rate %.4f > budget %s",
+                        endpoint, (double) row.get("errorRate"), errorLimit));
+            }
+        });
+        return violations;
+    }
+
+    private static String limit(Properties budget, String endpoint, String metric) {
+        String value = budget.getProperty(endpoint + "." + metric);
+        return value != null ? value.trim() : budget.getProperty("default." + metric);
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static final class EndpointStats {
+        final Histogram histogram = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        final AtomicLong errors = new AtomicLong();
+    }
+}
@@ -0,0 +1,374 @@
+package com.syn.usermanagement.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.syn.usermanagement.UserManagementApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Boots the application on an embedded database with stubbed S3 and weather
+ * dependencies, then drives a weighted scenario mix at an open-model (Poisson)
+ * arrival rate and checks the per-endpoint results against the latency budget.
+ *
+ * Run with: mvn -P loadtest verify [-Dloadtest.rate=100 -Dloadtest.duration-seconds=60]
+ */
+public class LoadTestRunner {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String PASSWORD = "loadtest-password";
+    private static final byte[] PHOTO = new byte[8 * 1024];
+
+    private final Settings settings;
+    private final LatencyRecorder recorder = new LatencyRecorder();
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final AtomicLong registrations = new AtomicLong();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger logoutCursor = new AtomicInteger();
+    private final List<VirtualUser> loginUsers = new ArrayList<>();
+    private final List<VirtualUser> logoutUsers = new ArrayList<>();
+    private final List<VirtualUser> profileUsers = new ArrayList<>();
+    private final String runId = UUID.randomUUID().toString().substring(0, 8);
+    private String baseUrl;
+
+    LoadTestRunner(Settings settings) {
+        this.settings = settings;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Settings settings = Settings.fromSystemProperties();
+        // devtools is on the test classpath; its restart class loader is not what production runs
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        int exitCode;
+        try (StubServer stubs = new StubServer(settings.stubLatencyMs())) {
+            ConfigurableApplicationContext app = new SpringApplicationBuilder(UserManagementApplication.class)
+                    .run("--spring.profiles.active=loadtest",
+                            "--server.port=0",
+                            "--aws.s3.endpoint=" + stubs.baseUrl(),
+                            "--weather.api.url=" + stubs.baseUrl() + "/current?query=Delhi");
+            try {
+                int port = ((WebServerApplicationContext) app).getWebServer().getPort();
+                exitCode = new LoadTestRunner(settings).run("http://127.0.0.1:" + port);
+            } finally {
+                app.close();
+            }
+            System.out.printf("Stub calls - S3 puts: %d, S3 deletes: %d, weather: %d%n",
+                    stubs.s3Puts(), stubs.s3Deletes(), stubs.weatherCalls());
+        }
+        System.exit(exitCode);
+    }
+
+    int run(String baseUrl) throws Exception {
+        this.baseUrl = baseUrl;
+        seedUsers();
+
+        System.out.printf("Warm-up: %d s at %.0f req/s%n", settings.warmupSeconds(), settings.rate());
+        drive(settings.warmupSeconds());
+
+        System.out.printf("Measuring: %d s at %.0f req/s, mix %s%n",
+                settings.durationSeconds(), settings.rate(), settings.mix());
+        recorder.startRecording();
+        long start = System.nanoTime();
+        drive(settings.durationSeconds());
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+        recorder.stopRecording();
+
+        Map<String, Map<String, Object>> summary = recorder.summary(elapsedSeconds);
+        recorder.print(summary);
+        recorder.writeJson(summary, Path.of(settings.reportFile()));
+
+        List<String> violations = LatencyRecorder.checkBudget(summary, loadBudget(settings.budget()));
+        if (violations.isEmpty()) {
+            System.out.println("Latency budget met");
+            return 0;
+        }
+        System.out.println("Latency budget regressed:");
+        violations.forEach(v -> System.out.println("  " + v));
+        return 1;
+    }
+
+    /**
+     * Register the user pool before the clock starts. Login and logout users keep their
+     * password; profile users are the ones updated and given photos. Logout cycles through
+     * its own users because tokens issued to one user within the same second are identical.
+     */
+    private void seedUsers() throws Exception {
+        for (int i = 0; i < settings.users(); i++) {
+            VirtualUser user = register().get(30, TimeUnit.SECONDS);
+            if (user == null) {
+                throw new IllegalStateException("Seeding the user pool failed");
+            }
+            (i % 3 == 0 ? loginUsers : i % 3 == 1 ? logoutUsers : profileUsers).add(user);
+        }
+    }
+
+    /**
+     * Fire scenarios with exponentially distributed gaps; each request's latency is
+     * taken from its scheduled start so a stalled server cannot slow the arrivals
+     */
+    private void drive(long seconds) throws InterruptedException {
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        double meanGapNanos = 1e9 / settings.rate();
+        long next = System.nanoTime();
+        List<CompletableFuture<?>> pending = new ArrayList<>();
+
+        while (next < end) {
+            long wait = next - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Scenario scenario = settings.pick(ThreadLocalRandom.current().nextInt(settings.totalWeight()));
+            if (inFlight.get() >= settings.maxInFlight()) {
+                // Saturated client side: count it against the endpoint instead of queueing
+                recorder.record(scenario.endpoint, next, false);
+            } else {
+                pending.add(start(scenario, next));
+            }
+            pending.removeIf(CompletableFuture::isDone);
+            next += (long) (-Math.log(1 - ThreadLocalRandom.current().nextDouble()) * meanGapNanos);
+        }
+        CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new))
+                .completeOnTimeout(null, 60, TimeUnit.SECONDS)
+                .join();
+    }
+
+    private CompletableFuture<?> start(Scenario scenario, long intendedStart) {
+        inFlight.incrementAndGet();
+        CompletableFuture<?> future = switch (scenario) {
+            case REGISTER -> register(intendedStart);
+            case LOGIN -> login(any(loginUsers), intendedStart);
+            case LOGOUT -> logout(intendedStart);
+            case LIST_USERS -> send(scenario.endpoint, authorized(get("/api/users?page="
+                    + ThreadLocalRandom.current().nextInt(5) + "&size=20"), any(profileUsers).token), intendedStart);
+            case GET_USER -> {
+                VirtualUser user = any(profileUsers);
+                yield send(scenario.endpoint, authorized(get("/api/users/" + user.id), user.token), intendedStart);
+            }
+            case UPDATE_USER -> {
+                VirtualUser user = any(profileUsers);
+                String body = json(Map.of("name", "Load User " + ThreadLocalRandom.current().nextInt(1000),
+                        "email", user.email, "password", PASSWORD));
+                yield send(scenario.endpoint, authorized(put("/api/users/" + user.id, body), user.token),
+                        intendedStart);
+            }
+            case UPLOAD_PHOTO -> {
+                VirtualUser user = any(profileUsers);
+                yield send(scenario.endpoint, authorized(multipart("/api/users/" + user.id + "/photo"), user.token),
+                        intendedStart);
+            }
+            case WEATHER -> send(scenario.endpoint, authorized(get("/api/users/weather"), any(profileUsers).token),
+                    intendedStart);
+        };
+        return future.whenComplete((r, e) -> inFlight.decrementAndGet());
+    }
+
+    /**
+     * Log in a fresh session and end it; the login is recorded under auth.login
+     */
+    private CompletableFuture<?> logout(long intendedStart) {
+        VirtualUser user = logoutUsers.get(Math.floorMod(logoutCursor.getAndIncrement(), logoutUsers.size()));
+        return login(user, intendedStart).thenCompose(token -> token == null
+                ? CompletableFuture.completedFuture(null)
+                : send(Scenario.LOGOUT.endpoint, authorized(post("/api/auth/logout",
+                        HttpRequest.BodyPublishers.noBody()), token), System.nanoTime()));
+    }
+
+    private CompletableFuture<VirtualUser> register() {
+        return register(System.nanoTime());
+    }
+
+    private CompletableFuture<VirtualUser> register(long intendedStart) {
+        String email = "load-" + runId + "-" + registrations.incrementAndGet() + "@example.com";
+        String body = json(Map.of("name", "Load User", "email", email, "password", PASSWORD));
+        return send(Scenario.REGISTER.endpoint, post("/api/auth/register", body), intendedStart)
+                .thenApply(response -> {
+                    JsonNode node = parse(response);
+                    return node == null ? null
+                            : new VirtualUser(node.get("id").asLong(), email, node.get("token").asText());
+                });
+    }
+
+    private CompletableFuture<String> login(VirtualUser user, long intendedStart) {
+        String body = json(Map.of("email", user.email, "password", PASSWORD));
+        return send(Scenario.LOGIN.endpoint, post("/api/auth/login", body), intendedStart)
+                .thenApply(response -> {
+                    JsonNode node = parse(response);
+                    return node == null ? null : node.get("token").asText();
+                });
+    }
+
+    /**
+     * Send a request and record it; completes with the response, or null on failure
+     */
+    private CompletableFuture<HttpResponse<String>> send(String endpoint, HttpRequest.Builder request,
+                                                         long intendedStart) {
+        return client.sendAsync(request.timeout(Duration.ofSeconds(30)).build(), HttpResponse.BodyHandlers.ofString())
+                .handle((response, error) -> {
+                    boolean success = error == null && response.statusCode() / 100 == 2;
+                    recorder.record(endpoint, intendedStart, success);
+                    return success ? response : null;
+                });
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).GET();
+    }
+
+    private HttpRequest.Builder post(String path, String json) {
+        return post(path, HttpRequest.BodyPublishers.ofString(json)).header("Content-Type", "application/json");
+    }
+
+    private HttpRequest.Builder post(String path, HttpRequest.BodyPublisher body) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).POST(body);
+    }
+
+    private HttpRequest.Builder put(String path, String json) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(json));
+    }
+
+    private HttpRequest.Builder multipart(String path) {
+        String boundary = "loadtest-" + UUID.randomUUID();
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.writeBytes(("--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"avatar.png\"\r\n"
+                + "Content-Type: image/png\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        body.writeBytes(PHOTO);
+        body.writeBytes(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        return post(path, HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary);
+    }
+
+    private static HttpRequest.Builder authorized(HttpRequest.Builder request, String token) {
+        return request.header("Authorization", "Bearer " + token);
+    }
+
+    private static VirtualUser any(List<VirtualUser> users) {
+        return users.get(ThreadLocalRandom.current().nextInt(users.size()));
+    }
+
+    private static String json(Map<String, String> body) {
+        try {
+            return MAPPER.writeValueAsString(body);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static JsonNode parse(HttpResponse<String> response) {
+        if (response == null) {
+            return null;
+        }
+        try {
+            return MAPPER.readTree(response.body());
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static Properties loadBudget(String resource) throws IOException {
+        Properties budget = new Properties();
+        try (InputStream in = LoadTestRunner.class.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalStateException("Latency budget not found on the classpath: " + resource);
+            }
+            budget.load(in);
+        }
+        return budget;
+    }
+
+    record VirtualUser(long id, String email, String token) {
+    }
+
+    enum Scenario {
+        REGISTER("auth.register"),
+        LOGIN("auth.login"),
+        LOGOUT("auth.logout"),
+        LIST_USERS("users.list"),
+        GET_USER("users.get"),
+        UPDATE_USER("users.update"),
+        UPLOAD_PHOTO("users.photo"),
+        WEATHER("users.weather");
+
+        final String endpoint;
+
+        Scenario(String endpoint) {
+            this.endpoint = endpoint;
+        }
+    }
+
+    /**
+     * Run settings, read from {@code loadtest.*} system properties
+     */
+    record Settings(double rate, long durationSeconds, long warmupSeconds, int users, int maxInFlight,
+                    long stubLatencyMs, String budget, String reportFile, Map<Scenario, Integer> mix) {
+
+        static final String DEFAULT_MIX =
+                "auth.register:5,auth.login:10,auth.logout:5,users.list:25,users.get:30,"
+                        + "users.update:10,users.photo:10,users.weather:5";
+
+        static Settings fromSystemProperties() {
+            Map<Scenario, Integer> mix = new LinkedHashMap<>();
+            for (String part : System.getProperty("loadtest.mix", DEFAULT_MIX).split(",")) {
+                String[] kv = part.trim().split(":");
+                Scenario scenario = Arrays.stream(Scenario.values())
+                        .filter(s -> s.endpoint.equals(kv[0].trim()))
+                        .findFirst()
+                        .orElseThrow(() -> new IllegalArgumentException("Unknown scenario: " + kv[0]));
+                mix.put(scenario, Integer.parseInt(kv[1].trim()));
+            }
+            return new Settings(
+                    Double.parseDouble(System.getProperty("loadtest.rate", "20")),
+                    Long.getLong("loadtest.duration-seconds", 30),
+                    Long.getLong("loadtest.warmup-seconds", 10),
+                    Integer.getInteger("loadtest.users", 20),
+                    Integer.getInteger("loadtest.max-in-flight", 1000),
+                    Long.getLong("loadtest.stub-latency-ms", 5),
+                    System.getProperty("loadtest.budget", "latency-budget.properties"),
+                    System.getProperty("loadtest.report", "target/loadtest-report.json"),
+                    mix);
+        }
+
+        int totalWeight() {
+            return mix.values().stream().mapToInt(Integer::intValue).sum();
+        }
+
+        Scenario pick(int ticket) {
+            for (Map.Entry<Scenario, Integer> entry : mix.entrySet()) {
+                ticket -= entry.getValue();
+                if (ticket < 0) {
+                    return entry.getKey();
+                }
+            }
+            throw new IllegalStateException("Empty scenario mix");
+        }
+    }
+}
@@ -0,0 +1,316 @@
+package com.syn.usermanagement.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+
+/**
+ * Measures time from process launch to the first successful /api/auth/login, and the
+ * resident set size at that point, for the packaged jar laid out the way
+ * Dockerfile.fast-start does it (extracted layers, application classes in their own
+ * jar, flat classpath). Variants: plain JVM, Spring AOT, Spring AOT with an AppCDS
+ * archive from a training run, and the native executable when -Dstartup.native is set.
+ *
+ * The JVM variants run on H2 unless -Dstartup.datasource.url (and .username, .password,
+ * .driver) points at a database; the native executable only contains the MySQL driver,
+ * so comparing it needs one.
+ *
+ * Run with: mvn -P fast-start verify [-Dstartup.iterations=5]
+ *           mvn -P fast-start verify -Dstartup.native=target/user-management -Dstartup.datasource.url=jdbc:mysql://...
+ */
+public class StartupBenchmark {
+
+    private static final String MAIN_CLASS = "com.syn.usermanagement.UserManagementApplication";
+    private static final String PASSWORD = "startup-password";
+
+    private final Path workDir;
+    private final String classpath;
+    private final List<String> datasourceArgs;
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofMillis(200))
+            .build();
+
+    StartupBenchmark(Path workDir, String classpath, List<String> datasourceArgs) {
+        this.workDir = workDir;
+        this.classpath = classpath;
+        this.datasourceArgs = datasourceArgs;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path jar = Path.of(System.getProperty("startup.jar"));
+        int iterations = Integer.getInteger("startup.iterations", 3);
+        Path workDir = Path.of(System.getProperty("startup.dir", "target/startup-benchmark"));
+        String nativeExecutable = System.getProperty("startup.native");
+
+        StartupBenchmark benchmark = new StartupBenchmark(workDir, prepareLayout(jar, workDir), datasourceArgs());
+        benchmark.train();
+
+        Map<String, List<long[]>> results = new LinkedHashMap<>();
+        results.put("plain", benchmark.measure(iterations, benchmark.jvm()));
+        results.put("aot", benchmark.measure(iterations, benchmark.jvm("-Dspring.aot.enabled=true")));
+        results.put("aot+cds", benchmark.measure(iterations, benchmark.jvm("-Dspring.aot.enabled=true",
+                "-XX:SharedArchiveFile=app.jsa", "-Xshare:auto")));
+        if (nativeExecutable != null) {
+            results.put("native", benchmark.measure(iterations,
+                    List.of(Path.of(nativeExecutable).toAbsolutePath().toString())));
+        }
+
+        Map<String, Map<String, Object>> summary = new LinkedHashMap<>();
+        System.out.printf("%n%-10s %12s %12s %12s %12s%n", "variant", "median ms", "min ms", "max ms", "RSS MB");
+        results.forEach((variant, runs) -> {
+            List<Long> millis = runs.stream().map(run -> run[0]).sorted().toList();
+            List<Long> rssKb = runs.stream().map(run -> run[1]).sorted().toList();
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("runs", millis);
+            row.put("median", millis.get(millis.size() / 2));
+            row.put("min", millis.get(0));
+            row.put("max", millis.get(millis.size() - 1));
+            long medianRssKb = rssKb.get(rssKb.size() / 2);
+            row.put("rssMb", medianRssKb < 0 ? -1 : medianRssKb / 1024);
+            summary.put(variant, row);
+            System.out.printf("%-10s %12d %12d %12d %12d%n", variant, row.get("median"), row.get("min"),
+                    row.get("max"), row.get("rssMb"));
+        });
+        System.out.println("(time from process launch to the first successful /api/auth/login, RSS at that point)");
+
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(workDir.resolve("startup-benchmark.json").toFile(), summary);
+    }
+
+    private static List<String> datasourceArgs() {
+        String url = System.getProperty("startup.datasource.url");
+        if (url == null) {
+            if (System.getProperty("startup.native") != null) {
+                throw new IllegalStateException("The native executable has no H2 driver, set -Dstartup.datasource.url");
+            }
+            return List.of(
+                    "--spring.datasource.url=jdbc:h2:mem:startup;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                    "--spring.datasource.username=sa",
+                    "--spring.datasource.password=",
+                    "--spring.datasource.driver-class-name=org.h2.Driver",
+                    "--spring.jpa.hibernate.ddl-auto=create-drop",
+                    "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect");
+        }
+        return List.of(
+                "--spring.datasource.url=" + url,
+                "--spring.datasource.username=" + System.getProperty("startup.datasource.username", "root"),
+                "--spring.datasource.password=" + System.getProperty("startup.datasource.password", ""),
+                "--spring.datasource.driver-class-name="
+                        + System.getProperty("startup.datasource.driver", "com.mysql.cj.jdbc.Driver"));
+    }
+
+    /**
+     * Extract the layers, move the application classes into a jar (AppCDS only archives
+     * classes loaded from jars) and add the H2 driver so the app can start without MySQL
+     */
+    static String prepareLayout(Path jar, Path workDir) throws Exception {
+        deleteRecursively(workDir);
+        Files.createDirectories(workDir);
+        run(workDir, List.of(javaBin(), "-Djarmode=layertools", "-jar", jar.toAbsolutePath().toString(),
+                "extract", "--destination", "layers"));
+
+        Path lib = Files.createDirectories(workDir.resolve("lib"));
+        for (String layer : List.of("dependencies", "spring-boot-loader", "snapshot-dependencies", "application")) {
+            Path layerLib = workDir.resolve("layers").resolve(layer).resolve("BOOT-INF/lib");
+            if (Files.isDirectory(layerLib)) {
+                try (Stream<Path> jars = Files.list(layerLib)) {
+                    for (Path dependency : jars.toList()) {
+                        Files.copy(dependency, lib.resolve(dependency.getFileName()));
+                    }
+                }
+            }
+        }
+        jarDirectory(workDir.resolve("layers/application/BOOT-INF/classes"), lib.resolve("application.jar"));
+
+        String h2 = Arrays.stream(System.getProperty("java.class.path").split(File.pathSeparator))
+                .filter(entry -> Path.of(entry).getFileName().toString().startsWith("h2-"))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("H2 driver not found on the classpath"));
+        Files.copy(Path.of(h2), lib.resolve(Path.of(h2).getFileName()), StandardCopyOption.REPLACE_EXISTING);
+
+        return "lib" + File.separator + "*";
+    }
+
+    /**
+     * Training run: start the context once and dump the loaded classes into app.jsa
+     */
+    void train() throws Exception {
+        Process process = launch(jvm("-Dspring.aot.enabled=true", "-XX:ArchiveClassesAtExit=app.jsa",
+                "-Dspring.context.exit=onRefresh"), freePort(), "training");
+        if (!process.waitFor(5, TimeUnit.MINUTES) || !Files.exists(workDir.resolve("app.jsa"))) {
+            process.destroyForcibly();
+            throw new IllegalStateException("CDS training run failed, see " + workDir.resolve("training.log"));
+        }
+    }
+
+    List<String> jvm(String... jvmOptions) {
+        List<String> command = new ArrayList<>();
+        command.add(javaBin());
+        command.addAll(List.of(jvmOptions));
+        command.addAll(List.of("-cp", classpath, MAIN_CLASS));
+        return command;
+    }
+
+    /**
+     * Each run yields {milliseconds to first login, RSS in kB}
+     */
+    List<long[]> measure(int iterations, List<String> command) throws Exception {
+        List<long[]> runs = new ArrayList<>();
+        for (int i = 0; i < iterations; i++) {
+            runs.add(timeToFirstLogin(command));
+        }
+        return runs;
+    }
+
+    private long[] timeToFirstLogin(List<String> command) throws Exception {
+        int port = freePort();
+        String base = "http://127.0.0.1:" + port + "/api/auth/";
+        String email = "startup-" + System.nanoTime() + "@example.com";
+
+        long start = System.nanoTime();
+        Process process = launch(command, port, "run");
+        try {
+            // The first answered register marks the app as serving; login must then succeed
+            while (status(post(base + "register", "{\"name\":\"Startup\",\"email\":\"" + email
+                    + "\",\"password\":\"" + PASSWORD + "\"}")) != 201) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Application exited, see " + workDir.resolve("run.log"));
+                }
+                if (System.nanoTime() - start > TimeUnit.MINUTES.toNanos(3)) {
+                    throw new IllegalStateException("Application did not start within 3 minutes");
+                }
+                Thread.sleep(20);
+            }
+            if (status(post(base + "login", "{\"email\":\"" + email + "\",\"password\":\"" + PASSWORD + "\"}")) != 200) {
+                throw new IllegalStateException("Login failed after registration");
+            }
+            return new long[]{TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), residentKb(process.pid())};
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private Process launch(List<String> launchCommand, int port, String logName) throws IOException {
+        List<String> command = new ArrayList<>(launchCommand);
+        command.add("--server.port=" + port);
+        command.addAll(datasourceArgs);
+        command.addAll(List.of(
+                "--aws.access-key=startup",
+                "--aws.secret-key=startup",
+                "--aws.s3.region=us-east-1",
+                "--aws.s3.bucket-name=startup-bucket",
+                "--outbox.relay.interval-ms=3600000",
+                "--rabbitmq.monitor.interval-ms=3600000"));
+        return new ProcessBuilder(command)
+                .directory(workDir.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(workDir.resolve(logName + ".log").toFile())
+                .start();
+    }
+
+    /**
+     * VmRSS from /proc (Linux only, -1 elsewhere)
+     */
+    private static long residentKb(long pid) {
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc", Long.toString(pid), "status"))) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("[^0-9]", ""));
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // not available on this platform
+        }
+        return -1;
+    }
+
+    private HttpRequest post(String url, String json) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private int status(HttpRequest request) {
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            return -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        }
+    }
+
+    private static void jarDirectory(Path classes, Path target) throws IOException {
+        try (OutputStream out = Files.newOutputStream(target);
+             JarOutputStream jar = new JarOutputStream(out);
+             Stream<Path> files = Files.walk(classes)) {
+            // Directory entries are needed too, classpath scanning resolves packages through them
+            for (Path file : files.filter(path -> !path.equals(classes)).sorted().toList()) {
+                String name = classes.relativize(file).toString().replace(File.separatorChar, '/');
+                if (Files.isDirectory(file)) {
+                    jar.putNextEntry(new JarEntry(name + "/"));
+                } else {
+                    jar.putNextEntry(new JarEntry(name));
+                    Files.copy(file, jar);
+                }
+                jar.closeEntry();
+            }
+        }
+    }
+
+    private static void run(Path dir, List<String> command) throws Exception {
+        Process process = new ProcessBuilder(command).directory(dir.toFile()).inheritIO().start();
+        if (process.waitFor() != 0) {
+            throw new IllegalStateException("Command failed: " + String.join(" ", command));
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static String javaBin() {
+        return Path.of(System.getProperty("java.home"), "bin", "java").toString();
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        if (!Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.syn.usermanagement.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process stand-in for S3 (path-style PUT/DELETE) and the weather API,
+ * with an optional fixed latency so dependency time shows up in the results
+ */
+public class StubServer implements AutoCloseable {
+
+    private static final byte[] WEATHER_JSON = ("{\"request\":{\"type\":\"City\",\"query\":\"Delhi, India\"},"
+            + "\"location\":{\"name\":\"Delhi\",\"country\":\"India\"},"
+            + "\"current\":{\"observation_time\":\"06:00 AM\",\"temperature\":31,\"weather_code\":113,"
+            + "\"wind_speed\":9,\"wind_degree\":280,\"wind_dir\":\"W\",\"pressure\":1006,\"precip\":0,"
+            + "\"humidity\":48,\"cloudcover\":0,\"feelslike\":33,\"uv_index\":7,\"visibility\":4,\"is_day\":\"yes\"}}")
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final long latencyMs;
+    private final AtomicLong s3Puts = new AtomicLong();
+    private final AtomicLong s3Deletes = new AtomicLong();
+    private final AtomicLong weatherCalls = new AtomicLong();
+
+    public StubServer(long latencyMs) throws IOException {
+        this.latencyMs = latencyMs;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        this.executor = Executors.newCachedThreadPool();
+        server.createContext("/current", this::handleWeather);
+        server.createContext("/", this::handleS3);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public long s3Puts() {
+        return s3Puts.get();
+    }
+
+    public long s3Deletes() {
+        return s3Deletes.get();
+    }
+
+    public long weatherCalls() {
+        return weatherCalls.get();
+    }
+
+    private void handleWeather(HttpExchange exchange) throws IOException {
+        weatherCalls.incrementAndGet();
+        pause();
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, WEATHER_JSON.length);
+        exchange.getResponseBody().write(WEATHER_JSON);
+        exchange.close();
+    }
+
+    private void handleS3(HttpExchange exchange) throws IOException {
+        try (InputStream body = exchange.getRequestBody()) {
+            body.transferTo(OutputStream.nullOutputStream());
+        }
+        pause();
+
+        switch (exchange.getRequestMethod()) {
+            case "PUT" -> {
+                s3Puts.incrementAndGet();
+                exchange.getResponseHeaders().add("ETag", "\"" + Long.toHexString(System.nanoTime()) + "\"");
+                exchange.sendResponseHeaders(200, -1);
+            }
+            case "DELETE" -> {
+                s3Deletes.incrementAndGet();
+                exchange.sendResponseHeaders(204, -1);
+            }
+            default -> exchange.sendResponseHeaders(405, -1);
+        }
+        exchange.close();
+    }
+
+    private void pause() {
+        if (latencyMs <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(latencyMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -1,23 +1,37 @@
 package com.syn.usermanagement;
 
+import com.syn.usermanagement.config.NativeRuntimeHints;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ImportRuntimeHints;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.concurrent.ConcurrentHashMap;
 
 @SpringBootApplication
+@ImportRuntimeHints(NativeRuntimeHints.class)
 public class UserManagementApplication {
 
     public static void main(String[] args) {
         SpringApplication.run(UserManagementApplication.class, args);
     }
 
+    /**
+     * Outbound HTTP client; timeouts keep a slow third party from holding request threads
+     */
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(RestTemplateBuilder builder,
+                                     @Value("${http.client.connect-timeout-ms:2000}") long connectTimeoutMs,
+                                     @Value("${http.client.read-timeout-ms:5000}") long readTimeoutMs) {
+        return builder
+                .setConnectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .setReadTimeout(Duration.ofMillis(readTimeoutMs))
+                .build();
     }
 
 }
@@ -1,6 +1,6 @@
 package com.syn.usermanagement.aspect;
 
-import org.aspectj.lang.JoinPoint;
+import com.syn.usermanagement.exception.DomainException;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.*;
 import org.slf4j.Logger;
@@ -13,6 +13,8 @@ import java.util.Arrays;
  * Logging Aspect - Automatically logs method entry, exit, and exceptions
  *
  * Uses AOP (Aspect Oriented Programming) to add logging without modifying existing code.
+ * Domain exceptions (not found, conflicts) are expected outcomes and only logged at debug;
+ * GlobalExceptionHandler counts them and logs a sample. Stack traces are left to the handler.
  */
 @Aspect
 @Component
@@ -63,6 +65,9 @@ public class LoggingAspect {
 
             return result;
 
+        } catch (DomainException e) {
+            logger.debug("↩️  CONTROLLER [{}] Method: {} - Outcome: {}", className, methodName, e.getMessage());
+            throw e;
         } catch (Exception e) {
             long duration = System.currentTimeMillis() - startTime;
             logger.error("❌ CONTROLLER [{}] Method: {} - Duration: {}ms - Exception: {}",
@@ -96,6 +101,9 @@ public class LoggingAspect {
 
             return result;
 
+        } catch (DomainException e) {
+            logger.debug("  ↩️  SERVICE [{}] Method: {} - Outcome: {}", className, methodName, e.getMessage());
+            throw e;
         } catch (Exception e) {
             long duration = System.currentTimeMillis() - startTime;
             logger.error("  ❌ SERVICE [{}] Method: {} - Duration: {}ms - Exception: {}",
@@ -104,24 +112,10 @@ public class LoggingAspect {
         }
     }
 
-    /**
-     * Log exceptions from any layer
-     */
-    @AfterThrowing(pointcut = "controllerMethods() || serviceMethods()", throwing = "exception")
-    public void logException(JoinPoint joinPoint, Throwable exception) {
-        Logger logger = LoggerFactory.getLogger(joinPoint.getTarget().getClass());
-
-        logger.error("🔥 EXCEPTION in {}.{}() - Message: {}",
-                joinPoint.getTarget().getClass().getSimpleName(),
-                joinPoint.getSignature().getName(),
-                exception.getMessage(),
-                exception);
-    }
-
     /**
      * Format method arguments for logging (hide sensitive data)
      */
-    private String formatArgs(Object[] args) {
+    String formatArgs(Object[] args) {
         if (args == null || args.length == 0) {
             return "[]";
         }
@@ -0,0 +1,75 @@
+package com.syn.usermanagement.config;
+
+import com.syn.usermanagement.config.ReadWriteRoutingDataSource.Route;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Read/write splitting - only active when app.datasource.replica.url is set.
+ *
+ * spring.datasource.* stays the primary (writes, and reads inside read-write
+ * transactions); @Transactional(readOnly = true) paths go to the replica pool.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replica.url")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @FlywayDataSource // migrations always run against the primary
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(
+            @Value("${app.datasource.replica.url}") String url,
+            @Value("${app.datasource.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${app.datasource.replica.password:${spring.datasource.password:}}") String password,
+            @Value("${app.datasource.replica.driver-class-name:${spring.datasource.driver-class-name:}}") String driverClassName
+    ) {
+        DataSourceBuilder<HikariDataSource> builder = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password);
+        if (!driverClassName.isEmpty()) {
+            builder.driverClassName(driverClassName);
+        }
+        HikariDataSource dataSource = builder.build();
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                 ReadYourWritesTracker readYourWritesTracker) {
+        ReadWriteRoutingDataSource routingDataSource = new ReadWriteRoutingDataSource(readYourWritesTracker);
+        routingDataSource.setTargetDataSources(Map.of(
+                Route.PRIMARY, primaryDataSource,
+                Route.REPLICA, replicaDataSource
+        ));
+        routingDataSource.setDefaultTargetDataSource(primaryDataSource);
+        routingDataSource.afterPropertiesSet();
+
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
@@ -0,0 +1,27 @@
+package com.syn.usermanagement.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.NativeDetector;
+
+/**
+ * Tunes the shared ObjectMapper (HTTP bodies and outbox payloads) for speed.
+ * Spring Boot installs every Module bean on the auto-configured mapper.
+ */
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * Blackbird replaces reflective getter/constructor calls with generated
+     * accessors. A native image can't define classes at runtime, so it keeps
+     * plain reflection there (AOT evaluates conditions at build time, hence the
+     * runtime check instead of a @Conditional).
+     */
+    @Bean
+    public Module blackbirdModule() {
+        return NativeDetector.inNativeImage() ? new SimpleModule("blackbird-disabled") : new BlackbirdModule();
+    }
+}
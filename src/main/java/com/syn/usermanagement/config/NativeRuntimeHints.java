@@ -0,0 +1,130 @@
+package com.syn.usermanagement.config;
+
+import com.syn.usermanagement.aspect.LoggingAspect;
+import com.syn.usermanagement.dto.BulkJobStatus;
+import com.syn.usermanagement.dto.BulkRoleChangeRequest;
+import com.syn.usermanagement.dto.BulkUserRequest;
+import com.syn.usermanagement.dto.ErrorResponse;
+import com.syn.usermanagement.dto.IntrospectRequest;
+import com.syn.usermanagement.dto.IntrospectResponse;
+import com.syn.usermanagement.dto.LoginRequest;
+import com.syn.usermanagement.dto.LoginResponse;
+import com.syn.usermanagement.dto.MessageResponse;
+import com.syn.usermanagement.dto.PageResponse;
+import com.syn.usermanagement.dto.RefreshRequest;
+import com.syn.usermanagement.dto.RegisterRequest;
+import com.syn.usermanagement.dto.TokenIntrospection;
+import com.syn.usermanagement.dto.UserBatchResponse;
+import com.syn.usermanagement.dto.UserBulkRow;
+import com.syn.usermanagement.dto.UserChangeEntry;
+import com.syn.usermanagement.dto.UserChangesResponse;
+import com.syn.usermanagement.dto.UserCredentialRow;
+import com.syn.usermanagement.dto.UserEvent;
+import com.syn.usermanagement.dto.UserPatchRequest;
+import com.syn.usermanagement.dto.UserResponse;
+import com.syn.usermanagement.dto.UserSearchRow;
+import com.syn.usermanagement.dto.UserVersionRow;
+import com.syn.usermanagement.entity.BlacklistedToken;
+import com.syn.usermanagement.entity.IdempotencyRecord;
+import com.syn.usermanagement.entity.OutboxEvent;
+import com.syn.usermanagement.entity.RefreshToken;
+import com.syn.usermanagement.entity.User;
+import com.syn.usermanagement.entity.WeatherResponse;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.util.ClassUtils;
+
+import java.util.List;
+
+/**
+ * Reflection and resource hints for the native image (mvn -P native native:compile).
+ * Spring AOT covers the bean graph and request mappings; this adds what is only
+ * reached reflectively at runtime.
+ */
+public class NativeRuntimeHints implements RuntimeHintsRegistrar {
+
+    // Instantiated by name through io.jsonwebtoken.lang.Classes
+    static final List<String> JJWT_TYPES = List.of(
+            "io.jsonwebtoken.impl.DefaultJwtBuilder$Supplier",
+            "io.jsonwebtoken.impl.DefaultJwtParserBuilder$Supplier",
+            "io.jsonwebtoken.impl.DefaultJwtHeaderBuilder$Supplier",
+            "io.jsonwebtoken.impl.DefaultClaimsBuilder$Supplier",
+            "io.jsonwebtoken.impl.io.StandardCompressionAlgorithms",
+            "io.jsonwebtoken.impl.security.KeysBridge",
+            "io.jsonwebtoken.impl.security.JwksBridge",
+            "io.jsonwebtoken.impl.security.DefaultDynamicJwkBuilder$Supplier",
+            "io.jsonwebtoken.impl.security.StandardCurves",
+            "io.jsonwebtoken.impl.security.StandardEncryptionAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardHashAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardKeyAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardKeyOperations",
+            "io.jsonwebtoken.impl.security.StandardSecureDigestAlgorithms",
+            "io.jsonwebtoken.jackson.io.JacksonSerializer",
+            "io.jsonwebtoken.jackson.io.JacksonDeserializer"
+    );
+
+    // Loaded through ServiceLoader
+    static final List<String> SERVICE_FILES = List.of(
+            "META-INF/services/io.jsonwebtoken.io.Serializer",
+            "META-INF/services/io.jsonwebtoken.io.Deserializer",
+            "META-INF/services/io.jsonwebtoken.CompressionCodec",
+            "META-INF/services/software.amazon.awssdk.http.SdkHttpService"
+    );
+
+    static final List<String> AWS_TYPES = List.of(
+            "software.amazon.awssdk.http.apache.ApacheSdkHttpService",
+            "software.amazon.awssdk.services.s3.model.PutObjectRequest",
+            "software.amazon.awssdk.services.s3.model.PutObjectResponse",
+            "software.amazon.awssdk.services.s3.model.DeleteObjectRequest",
+            "software.amazon.awssdk.services.s3.model.DeleteObjectResponse"
+    );
+
+    private final BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        registerByName(hints, classLoader, JJWT_TYPES);
+        registerByName(hints, classLoader, AWS_TYPES);
+        SERVICE_FILES.forEach(hints.resources()::registerPattern);
+        // SDK interceptor chains are listed in classpath resources
+        hints.resources().registerPattern("software/amazon/awssdk/global/handlers/execution.interceptors");
+        hints.resources().registerPattern("software/amazon/awssdk/services/s3/execution.interceptors");
+
+        // Jackson: request/response bodies behind ResponseEntity<?>, outbox payloads, weather API
+        bindingRegistrar.registerReflectionHints(hints.reflection(),
+                User.class, UserResponse.class, PageResponse.class, MessageResponse.class, ErrorResponse.class,
+                LoginRequest.class, LoginResponse.class, RegisterRequest.class, RefreshRequest.class, UserEvent.class,
+                UserPatchRequest.class, BulkUserRequest.class, BulkRoleChangeRequest.class, BulkJobStatus.class,
+                IntrospectRequest.class, IntrospectResponse.class, TokenIntrospection.class, UserBatchResponse.class,
+                UserChangesResponse.class, UserChangeEntry.class);
+        // WeatherResponse binds through public fields, which binding hints do not cover
+        hints.reflection().registerType(WeatherResponse.class,
+                MemberCategory.PUBLIC_FIELDS, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+        for (Class<?> nested : WeatherResponse.class.getDeclaredClasses()) {
+            hints.reflection().registerType(nested,
+                    MemberCategory.PUBLIC_FIELDS, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+        }
+
+        // Hibernate: entity state and the JPQL constructor projections
+        for (Class<?> type : List.of(User.class, BlacklistedToken.class, RefreshToken.class, OutboxEvent.class, IdempotencyRecord.class,
+                UserSearchRow.class, UserVersionRow.class, UserBulkRow.class, UserCredentialRow.class)) {
+            hints.reflection().registerType(type, MemberCategory.DECLARED_FIELDS,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_DECLARED_METHODS);
+        }
+
+        // AspectJ invokes the advice methods reflectively
+        hints.reflection().registerType(LoggingAspect.class, MemberCategory.INVOKE_DECLARED_METHODS);
+    }
+
+    private static void registerByName(RuntimeHints hints, ClassLoader classLoader, List<String> typeNames) {
+        for (String typeName : typeNames) {
+            if (ClassUtils.isPresent(typeName, classLoader)) {
+                hints.reflection().registerType(TypeReference.of(typeName),
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+            }
+        }
+    }
+}
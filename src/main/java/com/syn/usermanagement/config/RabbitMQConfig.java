@@ -1,55 +1,31 @@
 package com.syn.usermanagement.config;
 
 import org.springframework.amqp.core.*;
-import org.springframework.amqp.rabbit.connection.ConnectionFactory;
-import org.springframework.amqp.rabbit.core.RabbitAdmin;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
-import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
 public class RabbitMQConfig {
 
-//    public static final String EXCHANGE_NAME = "Test_Direct";
-//    public static final String QUEUE_NAME = "creation";
-//    public static final String ROUTING_KEY = "creation";
-//
-//    @Bean
-//    public TopicExchange exchange() {
-//        return new TopicExchange(EXCHANGE_NAME);
-//    }
-//
-//    @Bean
-//    public Queue queue() {
-//        return new Queue(QUEUE_NAME, true); // durable queue
-//    }
-//
-//    @Bean
-//    public Binding binding(Queue queue, TopicExchange exchange) {
-//        return BindingBuilder
-//                .bind(queue)
-//                .to(exchange)
-//                .with(ROUTING_KEY);
-//    }
-//
-//    @Bean
-//    public Jackson2JsonMessageConverter messageConverter() {
-//        return new Jackson2JsonMessageConverter();
-//    }
-//
-//    @Bean
-//    public AmqpTemplate amqpTemplate(ConnectionFactory connectionFactory) {
-//        RabbitTemplate rabbitTemplate = new RabbitTemplate(connectionFactory);
-//        rabbitTemplate.setMessageConverter(messageConverter());
-//        return rabbitTemplate;
-//    }
-//
-//    @Bean
-//    public RabbitAdmin  rabbitAdmin(ConnectionFactory connectionFactory) {
-//        RabbitAdmin rabbitAdmin = new RabbitAdmin(connectionFactory);
-//        rabbitAdmin.setAutoStartup(true);
-//        return rabbitAdmin;
-//    }
+    public static final String EXCHANGE_NAME = "user.events";
+    public static final String QUEUE_NAME = "user.events";
+    public static final String ROUTING_KEY_PREFIX = "user.";
 
+    @Bean
+    public TopicExchange exchange() {
+        return new TopicExchange(EXCHANGE_NAME);
+    }
+
+    @Bean
+    public Queue queue() {
+        return new Queue(QUEUE_NAME, true); // durable queue
+    }
+
+    @Bean
+    public Binding binding(Queue queue, TopicExchange exchange) {
+        return BindingBuilder
+                .bind(queue)
+                .to(exchange)
+                .with(ROUTING_KEY_PREFIX + "#");
+    }
 }
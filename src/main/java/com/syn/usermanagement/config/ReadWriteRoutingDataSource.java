@@ -0,0 +1,44 @@
+package com.syn.usermanagement.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Routes read-only transactions to the replica pool and everything else to the primary.
+ *
+ * Must sit behind a LazyConnectionDataSourceProxy so the physical connection is
+ * fetched after the transaction's read-only flag has been set.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        PRIMARY,
+        REPLICA
+    }
+
+    private final ReadYourWritesTracker readYourWritesTracker;
+
+    public ReadWriteRoutingDataSource(ReadYourWritesTracker readYourWritesTracker) {
+        this.readYourWritesTracker = readYourWritesTracker;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return readYourWritesTracker.isPrimaryRequired() ? Route.PRIMARY : Route.REPLICA;
+        }
+
+        // Read-write transaction - open the read-your-writes window for the caller on commit
+        String subject = readYourWritesTracker.getSubject();
+        if (subject != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    readYourWritesTracker.markWritten(subject);
+                }
+            });
+        }
+        return Route.PRIMARY;
+    }
+}
@@ -0,0 +1,73 @@
+package com.syn.usermanagement.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Read-your-writes window for replica routing.
+ *
+ * Remembers when a subject (user email) last wrote, or was written to. While the
+ * current request's subject is inside the window, read-only transactions stay on
+ * the primary so the caller never sees replica lag on data it just changed.
+ *
+ * The window is tracked per node; a window of 0 disables it.
+ */
+@Component
+public class ReadYourWritesTracker {
+
+    private static final ThreadLocal<String> CURRENT_SUBJECT = new ThreadLocal<>();
+
+    private final Map<String, Long> lastWriteAt = new ConcurrentHashMap<>();
+
+    @Value("${app.datasource.read-your-writes-ms:2000}")
+    private long windowMs;
+
+    /**
+     * Set the subject of the current request (cleared with {@link #clearSubject()})
+     */
+    public void setSubject(String subject) {
+        CURRENT_SUBJECT.set(subject);
+    }
+
+    public String getSubject() {
+        return CURRENT_SUBJECT.get();
+    }
+
+    public void clearSubject() {
+        CURRENT_SUBJECT.remove();
+    }
+
+    /**
+     * Open the window for the given subject
+     */
+    public void markWritten(String subject) {
+        if (subject != null && windowMs > 0) {
+            lastWriteAt.put(subject, System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Whether the current subject must read from the primary
+     */
+    public boolean isPrimaryRequired() {
+        String subject = CURRENT_SUBJECT.get();
+        if (subject == null || windowMs <= 0) {
+            return false;
+        }
+        Long writtenAt = lastWriteAt.get(subject);
+        return writtenAt != null && System.currentTimeMillis() - writtenAt < windowMs;
+    }
+
+    /**
+     * Drop expired windows (runs every minute)
+     */
+    @Scheduled(fixedRate = 60000)
+    public void purgeExpired() {
+        long cutoff = System.currentTimeMillis() - windowMs;
+        lastWriteAt.values().removeIf(writtenAt -> writtenAt < cutoff);
+    }
+}
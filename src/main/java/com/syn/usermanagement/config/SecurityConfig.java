@@ -1,11 +1,16 @@
 package com.syn.usermanagement.config;
 
 import com.syn.usermanagement.security.CustomUserDetailsService;
+import com.syn.usermanagement.security.IntrospectionClients;
 import com.syn.usermanagement.security.JwtAuthenticationFilter;
+import com.syn.usermanagement.security.PasswordHashing;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
@@ -15,10 +20,11 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -32,8 +38,12 @@ import java.util.List;
 @RequiredArgsConstructor
 public class SecurityConfig {
 
+    private static final String INTROSPECT_PATH = "/api/auth/introspect";
+
     private final JwtAuthenticationFilter jwtAuthFilter;
     private final CustomUserDetailsService userDetailsService;
+    private final PasswordEncoder passwordEncoder;
+    private final IntrospectionClients introspectionClients;
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -47,8 +57,13 @@ public class SecurityConfig {
                 // Configure authorization
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
+                        // Completion of an already authorized async request (SSE streams)
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                        // Service-to-service: client credentials, not a user token
+                        .requestMatchers(INTROSPECT_PATH).access(introspectionClients)
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/.well-known/jwks.json").permitAll()
 
                         .requestMatchers("/api/users/**").hasRole("USER")
 
@@ -56,6 +71,10 @@ public class SecurityConfig {
                         .anyRequest().authenticated()
                 )
 
+                // Missing or wrong client credentials on introspect are a 401, not the default 403
+                .exceptionHandling(exceptions -> exceptions.defaultAuthenticationEntryPointFor(
+                        new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED), new AntPathRequestMatcher(INTROSPECT_PATH)))
+
                 // Stateless session (no session cookies)
                 .sessionManagement(session -> session
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
@@ -77,9 +96,10 @@ public class SecurityConfig {
                 "http://localhost:4200",    // Angular dev server
                 "https://yourdomain.com"    // Production
         ));
-        configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
-        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "X-Requested-With"));
-        configuration.setExposedHeaders(List.of("Authorization"));
+        configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
+        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "X-Requested-With", "Idempotency-Key",
+                "If-None-Match", "If-Match"));
+        configuration.setExposedHeaders(List.of("Authorization", "Idempotent-Replayed", "ETag"));
         configuration.setAllowCredentials(true);
         configuration.setMaxAge(3600L);
 
@@ -92,7 +112,9 @@ public class SecurityConfig {
     public AuthenticationProvider authenticationProvider() {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
+        // Re-hashes outdated passwords (bare BCrypt, lower strength) after a successful login
+        authProvider.setUserDetailsPasswordService(userDetailsService);
         return authProvider;
     }
 
@@ -101,8 +123,17 @@ public class SecurityConfig {
         return config.getAuthenticationManager();
     }
 
+    /**
+     * {bcrypt}-prefixed hashes at the fleet-wide security.password.bcrypt-strength; this
+     * node only reports what that costs here against security.password.target-ms.
+     * Static so this configuration can inject the encoder itself.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public static PasswordEncoder passwordEncoder(
+            @Value("${security.password.bcrypt-strength:10}") int strength,
+            @Value("${security.password.target-ms:100}") long targetMs
+    ) {
+        PasswordHashing.reportBcryptCost(strength, targetMs);
+        return PasswordHashing.encoder(strength);
     }
 }
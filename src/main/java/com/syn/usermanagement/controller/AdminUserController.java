@@ -0,0 +1,87 @@
+package com.syn.usermanagement.controller;
+
+import com.syn.usermanagement.dto.BulkJobStatus;
+import com.syn.usermanagement.dto.BulkRoleChangeRequest;
+import com.syn.usermanagement.dto.BulkUserRequest;
+import com.syn.usermanagement.service.BulkUserService;
+import com.syn.usermanagement.service.UserEventBroadcaster;
+import com.syn.usermanagement.service.UserService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.net.URI;
+
+/**
+ * Admin user operations - ADMIN only (see SecurityConfig). Bulk jobs run in the
+ * background; poll the returned job for progress.
+ */
+@RestController
+@RequestMapping("/api/admin/users")
+@RequiredArgsConstructor
+public class AdminUserController {
+
+    private final BulkUserService bulkUserService;
+    private final UserService userService;
+    private final UserEventBroadcaster userEventBroadcaster;
+
+    // Clients (EventSource) reconnect on their own when the stream ends
+    @Value("${users.stream.timeout-ms:1800000}")
+    private long streamTimeoutMs;
+
+    @PostMapping("/bulk-delete")
+    public ResponseEntity<BulkJobStatus> bulkDelete(@Valid @RequestBody BulkUserRequest request) {
+        return accepted(bulkUserService.submitDelete(request));
+    }
+
+    @PostMapping("/bulk-role")
+    public ResponseEntity<BulkJobStatus> bulkChangeRole(@Valid @RequestBody BulkRoleChangeRequest request) {
+        return accepted(bulkUserService.submitRoleChange(request));
+    }
+
+    @PostMapping("/bulk-clear-photos")
+    public ResponseEntity<BulkJobStatus> bulkClearPhotos(@Valid @RequestBody BulkUserRequest request) {
+        return accepted(bulkUserService.submitClearPhotos(request));
+    }
+
+    /**
+     * Log a user out everywhere - every access and refresh token issued so far stops working
+     */
+    @PostMapping("/{id}/revoke-tokens")
+    public ResponseEntity<Void> revokeTokens(@PathVariable Long id) {
+        userService.revokeAllTokens(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Server-Sent Events stream of user changes (event "user", or "resync" when
+     * this client fell behind) - replaces polling the user listing
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamUserEvents() {
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        if (!userEventBroadcaster.subscribe(emitter)) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "10")
+                    .build();
+        }
+        return ResponseEntity.ok(emitter);
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<BulkJobStatus> getJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(bulkUserService.getJob(jobId));
+    }
+
+    private ResponseEntity<BulkJobStatus> accepted(BulkJobStatus job) {
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/admin/users/jobs/" + job.jobId()))
+                .body(job);
+    }
+}
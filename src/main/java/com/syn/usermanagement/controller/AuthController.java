@@ -1,13 +1,23 @@
 package com.syn.usermanagement.controller;
 
+import com.syn.usermanagement.config.ReadYourWritesTracker;
+import com.syn.usermanagement.dto.IntrospectRequest;
+import com.syn.usermanagement.dto.IntrospectResponse;
 import com.syn.usermanagement.dto.LoginRequest;
 import com.syn.usermanagement.dto.LoginResponse;
+import com.syn.usermanagement.dto.MessageResponse;
+import com.syn.usermanagement.dto.RefreshRequest;
 import com.syn.usermanagement.dto.RegisterRequest;
 import com.syn.usermanagement.entity.User;
+import com.syn.usermanagement.exception.EmailAlreadyExistsException;
+import com.syn.usermanagement.exception.InvalidRefreshTokenException;
 import com.syn.usermanagement.repository.UserRepository;
 import com.syn.usermanagement.security.CustomUserDetailsService;
 import com.syn.usermanagement.security.JwtUtils;
+import com.syn.usermanagement.service.RefreshTokenService;
 import com.syn.usermanagement.service.TokenBlacklistService;
+import com.syn.usermanagement.service.TokenIntrospectionService;
+import com.syn.usermanagement.service.UserService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -20,10 +30,8 @@ import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.Map;
 
 @RestController
 @RequestMapping("/api/auth")
@@ -36,9 +44,12 @@ public class AuthController {
     private final AuthenticationManager authenticationManager;
     private final CustomUserDetailsService userDetailsService;
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
     private final JwtUtils jwtUtils;
     private final TokenBlacklistService tokenBlacklistService;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenIntrospectionService tokenIntrospectionService;
+    private final UserService userService;
+    private final ReadYourWritesTracker readYourWritesTracker;
 
     /**
      * Login endpoint
@@ -53,6 +64,9 @@ public class AuthController {
         logger.info("🔐 LOGIN ATTEMPT - Email: {} - IP: {}",
                 loginRequest.getEmail(), clientIp);
 
+        // A user who registered a moment ago is read from the primary
+        readYourWritesTracker.setSubject(loginRequest.getEmail());
+
         try {
             Authentication authentication = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(
@@ -63,33 +77,25 @@ public class AuthController {
 
             UserDetails userDetails = (UserDetails) authentication.getPrincipal();
             User user = userDetailsService.loadUserEntityByEmail(loginRequest.getEmail());
-            String token = jwtUtils.generateToken(userDetails);
-
             logger.info("✅ LOGIN SUCCESS - Email: {} - UserId: {} - IP: {}",
                     user.getEmail(), user.getId(), clientIp);
 
-            LoginResponse response = new LoginResponse(
-                    token,
-                    user.getId(),
-                    user.getName(),
-                    user.getEmail(),
-                    user.getRole().name()
-            );
-
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(tokenResponse(user, userDetails, refreshTokenService.issue(user.getId())));
 
         } catch (BadCredentialsException e) {
             logger.warn("❌ LOGIN FAILED - Email: {} - Reason: Invalid credentials - IP: {}",
                     loginRequest.getEmail(), clientIp);
 
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                    .body(Map.of("message", "Invalid email or password"));
+                    .body(MessageResponse.failed("Invalid email or password"));
         } catch (Exception e) {
             logger.error("🔥 LOGIN ERROR - Email: {} - Error: {} - IP: {}",
                     loginRequest.getEmail(), e.getMessage(), clientIp, e);
 
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(Map.of("message", "Login failed"));
+                    .body(MessageResponse.failed("Login failed"));
+        } finally {
+            readYourWritesTracker.clearSubject();
         }
     }
 
@@ -106,54 +112,66 @@ public class AuthController {
         logger.info("📝 REGISTRATION ATTEMPT - Email: {} - IP: {}",
                 registerRequest.getEmail(), clientIp);
 
-        if (userRepository.existsByEmail(registerRequest.getEmail())) {
-            logger.warn("⚠️ REGISTRATION FAILED - Email: {} - Reason: Email already exists - IP: {}",
-                    registerRequest.getEmail(), clientIp);
-
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                    .body(Map.of("message", "Email already exists"));
-        }
-
         try {
             User user = new User();
             user.setName(registerRequest.getName());
             user.setEmail(registerRequest.getEmail());
-            user.setPassword(passwordEncoder.encode(registerRequest.getPassword()));
+            user.setPassword(registerRequest.getPassword());
             user.setRole(User.Role.USER);
 
-            User savedUser = userRepository.save(user);
+            User savedUser = userService.createUser(user);
 
             logger.info("✅ REGISTRATION SUCCESS - Email: {} - UserId: {} - IP: {}",
                     savedUser.getEmail(), savedUser.getId(), clientIp);
 
             UserDetails userDetails = userDetailsService.loadUserByUsername(savedUser.getEmail());
-            String token = jwtUtils.generateToken(userDetails);
-
-            LoginResponse response = new LoginResponse(
-                    token,
-                    savedUser.getId(),
-                    savedUser.getName(),
-                    savedUser.getEmail(),
-                    savedUser.getRole().name()
-            );
 
-            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(tokenResponse(savedUser, userDetails, refreshTokenService.issue(savedUser.getId())));
+
+        } catch (EmailAlreadyExistsException e) {
+            // UserService.createUser does the only existence check
+            logger.warn("⚠️ REGISTRATION FAILED - Email: {} - Reason: Email already exists - IP: {}",
+                    registerRequest.getEmail(), clientIp);
 
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(MessageResponse.failed("Email already exists"));
         } catch (Exception e) {
             logger.error("🔥 REGISTRATION ERROR - Email: {} - Error: {} - IP: {}",
                     registerRequest.getEmail(), e.getMessage(), clientIp, e);
 
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(Map.of("message", "Registration failed"));
+                    .body(MessageResponse.failed("Registration failed"));
         }
     }
 
     /**
-     * Logout endpoint
+     * Refresh endpoint - rotates the refresh token and issues a new access token
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<LoginResponse> refresh(
+            @Valid @RequestBody RefreshRequest refreshRequest,
+            HttpServletRequest request
+    ) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshRequest.getRefreshToken());
+
+        User user = userRepository.findById(rotation.userId())
+                .orElseThrow(() -> new InvalidRefreshTokenException("User no longer exists"));
+        UserDetails userDetails = userDetailsService.loadUserByUsername(user.getEmail());
+
+        logger.info("🔄 TOKEN REFRESHED - Email: {} - UserId: {} - IP: {}",
+                user.getEmail(), user.getId(), getClientIp(request));
+
+        return ResponseEntity.ok(tokenResponse(user, userDetails, rotation.refreshToken()));
+    }
+
+    /**
+     * Logout endpoint - blacklists the access token and revokes the refresh token family
      */
     @PostMapping("/logout")
     public ResponseEntity<?> logout(
             @RequestHeader("Authorization") String authHeader,
+            @RequestBody(required = false) RefreshRequest refreshRequest,
             HttpServletRequest request
     ) {
         String clientIp = getClientIp(request);
@@ -162,28 +180,48 @@ public class AuthController {
             if (authHeader == null || !authHeader.startsWith("Bearer ")) {
                 logger.warn("⚠️ LOGOUT FAILED - Reason: Invalid auth header - IP: {}", clientIp);
                 return ResponseEntity.badRequest()
-                        .body(Map.of("message", "Invalid authorization header"));
+                        .body(MessageResponse.failed("Invalid authorization header"));
             }
 
             String token = authHeader.substring(7);
             String userEmail = jwtUtils.extractUsername(token);
 
             tokenBlacklistService.blacklistToken(token);
+            if (refreshRequest != null && refreshRequest.getRefreshToken() != null) {
+                refreshTokenService.revokeFamily(refreshRequest.getRefreshToken());
+            }
 
             logger.info("🚪 LOGOUT SUCCESS - Email: {} - IP: {}", userEmail, clientIp);
 
-            return ResponseEntity.ok(Map.of(
-                    "message", "Logged out successfully",
-                    "success", true
-            ));
+            return ResponseEntity.ok(MessageResponse.ok("Logged out successfully"));
 
         } catch (Exception e) {
             logger.error("🔥 LOGOUT ERROR - Error: {} - IP: {}", e.getMessage(), clientIp, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(Map.of("message", "Logout failed: " + e.getMessage()));
+                    .body(MessageResponse.failed("Logout failed: " + e.getMessage()));
         }
     }
 
+    /**
+     * Introspect endpoint - validates a batch of access tokens for the gateway and sibling services
+     */
+    @PostMapping("/introspect")
+    public ResponseEntity<IntrospectResponse> introspect(@Valid @RequestBody IntrospectRequest introspectRequest) {
+        return ResponseEntity.ok(new IntrospectResponse(tokenIntrospectionService.introspect(introspectRequest.getTokens())));
+    }
+
+    private LoginResponse tokenResponse(User user, UserDetails userDetails, String refreshToken) {
+        return new LoginResponse(
+                jwtUtils.generateToken(user.getId(), userDetails),
+                jwtUtils.getExpirationMs() / 1000,
+                refreshToken,
+                user.getId(),
+                user.getName(),
+                user.getEmail(),
+                user.getRole().name()
+        );
+    }
+
     /**
      * Get client IP address
      */
@@ -0,0 +1,34 @@
+package com.syn.usermanagement.controller;
+
+import com.syn.usermanagement.security.JwtKeyProvider;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Public keys for local JWT verification by other services. The cache lifetime
+ * must stay well below the overlap a retired key is kept for (see JwtSigningProperties).
+ */
+@RestController
+@RequiredArgsConstructor
+public class JwksController {
+
+    private final JwtKeyProvider jwtKeyProvider;
+
+    @Value("${jwt.jwks.max-age-seconds:300}")
+    private long maxAgeSeconds;
+
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, Object>> jwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds)).cachePublic())
+                .eTag(Integer.toHexString(jwtKeyProvider.getJwks().hashCode()))
+                .body(jwtKeyProvider.getJwks());
+    }
+}
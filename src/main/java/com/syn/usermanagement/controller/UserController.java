@@ -1,10 +1,20 @@
 package com.syn.usermanagement.controller;
 
+import com.syn.usermanagement.dto.PageResponse;
+import com.syn.usermanagement.dto.UserBatchResponse;
+import com.syn.usermanagement.dto.UserChangesResponse;
+import com.syn.usermanagement.dto.UserPatchRequest;
+import com.syn.usermanagement.dto.UserResponse;
+import com.syn.usermanagement.dto.UserSortKey;
+import com.syn.usermanagement.dto.UserVersionRow;
 import com.syn.usermanagement.entity.User;
 import com.syn.usermanagement.entity.WeatherResponse;
-import com.syn.usermanagement.service.MessageProducer;
+import com.syn.usermanagement.exception.InvalidRequestException;
+import com.syn.usermanagement.exception.PreconditionFailedException;
+import com.syn.usermanagement.service.UserChangeFeedService;
 import com.syn.usermanagement.service.UserService;
 import com.syn.usermanagement.service.WeatherService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -14,53 +24,122 @@ import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpServerErrorException;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/users")
 @RequiredArgsConstructor
 public class UserController {
 
+    private static final int MAX_BATCH_IDS = 200;
+
     private final UserService userService;
+    private final UserChangeFeedService userChangeFeedService;
     private final WeatherService weatherService;
-    private final MessageProducer messageProducer;
 
     @GetMapping
-    public ResponseEntity<Page<User>> getAllUsers(@RequestParam(defaultValue = "0") int page,
+    public ResponseEntity<PageResponse<UserResponse>> getAllUsers(@RequestParam(defaultValue = "0") int page,
                                                   @RequestParam(defaultValue = "3") int size,
                                                   @RequestParam(defaultValue = "id") String sortBy,
-                                                  @RequestParam(defaultValue = "asc") String sortDir) {
+                                                  @RequestParam(defaultValue = "asc") String sortDir,
+                                                  WebRequest request) {
 
-        Sort sort = sortDir.equalsIgnoreCase("desc")
-                ? Sort.by(sortBy).descending()
-                : Sort.by(sortBy).ascending();
+        // Only index-backed keys - anything else would be a filesort over the whole table
+        Sort sort = UserSortKey.of(sortBy).toSort(sortDir.equalsIgnoreCase("desc")
+                ? Sort.Direction.DESC
+                : Sort.Direction.ASC);
 
         Pageable pageable = PageRequest.of(page, size, sort);
-        return ResponseEntity.ok(userService.getAllUsers(pageable));
+
+        // Revalidation only needs the (id, version) pairs of the page, not the rows
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && request.checkNotModified(pageETag(userService.getUserVersions(pageable)))) {
+            return null;
+        }
+
+        Page<User> users = userService.getAllUsers(pageable);
+        return ResponseEntity.ok()
+                .eTag(pageETag(users.map(user -> new UserVersionRow(user.getId(), user.getVersion()))))
+                .body(PageResponse.from(users, UserResponse::from));
+    }
+
+    /**
+     * Batch lookup for services rendering lists of user references:
+     * GET /api/users?ids=3,1,2 instead of one GET per id
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<UserBatchResponse> getUsersByIds(@RequestParam List<Long> ids) {
+        Set<Long> uniqueIds = new LinkedHashSet<>(ids);
+        if (uniqueIds.isEmpty() || uniqueIds.size() > MAX_BATCH_IDS) {
+            throw new InvalidRequestException("ids must contain 1-" + MAX_BATCH_IDS + " user ids");
+        }
+        return ResponseEntity.ok(userService.getUsersByIds(uniqueIds));
+    }
+
+    /**
+     * Incremental sync: users changed (or deleted) after the cursor, oldest first
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<UserChangesResponse> getUserChanges(@RequestParam(required = false) String since,
+                                                              @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(userChangeFeedService.changesSince(since, Math.min(Math.max(limit, 1), 1000)));
+    }
+
+    /**
+     * Type-ahead search by name or email
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<UserResponse>> searchUsers(@RequestParam String q,
+                                                          @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(userService.searchUsers(q, Math.min(Math.max(limit, 1), 50)).stream()
+                .map(UserResponse::from)
+                .toList());
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<User> getUserById(@PathVariable Long id) {
-        return ResponseEntity.ok(userService.getUserById(id));
+    public ResponseEntity<UserResponse> getUserById(@PathVariable Long id, WebRequest request) {
+        // Revalidation is answered from the version alone, without loading the user
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && request.checkNotModified(userETag(userService.getUserVersion(id)))) {
+            return null;
+        }
+
+        User user = userService.getUserById(id);
+        return ResponseEntity.ok().eTag(userETag(user.getVersion())).body(UserResponse.from(user));
     }
 
     @PostMapping
-    public ResponseEntity<User> createUser( @RequestBody User user) {
+    public ResponseEntity<UserResponse> createUser( @RequestBody User user) {
         User createdUser = userService.createUser(user);
-//        messageProducer.sendObject(createdUser, "creation");
         return ResponseEntity.status(HttpStatus.CREATED).build();
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<User> updateUser(
+    public ResponseEntity<UserResponse> updateUser(
             @PathVariable Long id,
-             @RequestBody User userDetails) {
-        User updatedUser = userService.updateUser(id, userDetails);
-        return ResponseEntity.ok(updatedUser);
+             @RequestBody User userDetails,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        User updatedUser = userService.updateUser(id, userDetails, expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(userETag(updatedUser.getVersion())).body(UserResponse.from(updatedUser));
+    }
+
+    /**
+     * Partial update - only the fields present in the body are changed
+     */
+    @PatchMapping("/{id}")
+    public ResponseEntity<UserResponse> patchUser(
+            @PathVariable Long id,
+            @Valid @RequestBody UserPatchRequest patch,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        User patchedUser = userService.patchUser(id, patch, expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(userETag(patchedUser.getVersion())).body(UserResponse.from(patchedUser));
     }
 
     @DeleteMapping("/{id}")
@@ -73,7 +152,7 @@ public class UserController {
      * Upload user photo
      */
     @PostMapping(value = "/{id}/photo", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-    public ResponseEntity<User> uploadPhoto(
+    public ResponseEntity<UserResponse> uploadPhoto(
             @PathVariable Long id,
             @RequestParam("file") MultipartFile file) throws IOException {
 
@@ -89,28 +168,28 @@ public class UserController {
         }
 
         User updatedUser = userService.uploadUserPhoto(id, file);
-        return ResponseEntity.ok(updatedUser);
+        return ResponseEntity.ok(UserResponse.from(updatedUser));
     }
 
     /**
      * Delete user photo
      */
     @DeleteMapping("/{id}/photo")
-    public ResponseEntity<User> deletePhoto(@PathVariable Long id) {
+    public ResponseEntity<UserResponse> deletePhoto(@PathVariable Long id) {
         User updatedUser = userService.deleteUserPhoto(id);
-        return ResponseEntity.ok(updatedUser);
+        return ResponseEntity.ok(UserResponse.from(updatedUser));
     }
 
     @GetMapping("/weather")
     public ResponseEntity<WeatherResponse> getUserByWeatherAPI() {
-        String  url = "http://api.weatherstack.com/current?access_key=f4ae8bcd7c6773390ff253ec1e5f6606&query=Delhi";
-        RestTemplate restTemplate = new RestTemplate();
         try {
-            ResponseEntity<WeatherResponse> response = restTemplate.exchange(
-                    url, HttpMethod.GET, new HttpEntity<>(""), WeatherResponse.class
-            );
-            return ResponseEntity.ok(response.getBody());
+            return ResponseEntity.ok(weatherService.getCurrentWeather());
 
+        } catch (ResourceAccessException e) {
+            // Connect or read timeout - 504 also tells admission control the upstream is backed up
+            return ResponseEntity
+                    .status(HttpStatus.GATEWAY_TIMEOUT)
+                    .body(null);
         } catch (HttpClientErrorException | HttpServerErrorException e) {
             // Handle 4xx and 5xx errors
             return ResponseEntity
@@ -123,4 +202,41 @@ public class UserController {
                     .body(null);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Strong ETag of a single user is its version
+     */
+    private static String userETag(long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Weak ETag of a page: a hash over the total and the (id, version) pairs in order
+     */
+    private static String pageETag(Page<UserVersionRow> rows) {
+        long hash = rows.getTotalElements();
+        for (UserVersionRow row : rows) {
+            hash = 31 * hash + row.id();
+            hash = 31 * hash + row.version();
+        }
+        return "W/\"" + Long.toHexString(hash) + "\"";
+    }
+
+    /**
+     * Version required by If-Match; null when absent or "*". Weak tags never match (RFC 9110).
+     */
+    private static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            try {
+                return Long.parseLong(tag.substring(1, tag.length() - 1));
+            } catch (NumberFormatException ignored) {
+                // falls through to the mismatch below
+            }
+        }
+        throw new PreconditionFailedException("If-Match " + ifMatch + " does not match the current version");
+    }
+}
@@ -0,0 +1,23 @@
+package com.syn.usermanagement.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Progress of a bulk admin job. matched is counted when the job starts, so
+ * processed can end up lower if users disappear while it runs.
+ */
+public record BulkJobStatus(
+        String jobId,
+        String operation,
+        String state,
+        long matched,
+        long processed,
+        long affected,
+        int photosDeleted,
+        List<String> failedPhotoUrls,
+        LocalDateTime startedAt,
+        LocalDateTime finishedAt,
+        String error
+) {
+}
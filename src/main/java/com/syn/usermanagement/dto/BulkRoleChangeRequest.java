@@ -0,0 +1,16 @@
+package com.syn.usermanagement.dto;
+
+import com.syn.usermanagement.entity.User;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class BulkRoleChangeRequest extends BulkUserRequest {
+
+    @NotNull(message = "New role is required")
+    private User.Role newRole;
+}
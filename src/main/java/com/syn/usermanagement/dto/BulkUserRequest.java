@@ -0,0 +1,37 @@
+package com.syn.usermanagement.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.syn.usermanagement.entity.User;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Target of a bulk admin job - either an explicit id list or a filter
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUserRequest {
+
+    @Size(max = 100000, message = "At most 100000 ids per job")
+    private List<Long> ids;
+
+    private User.Role role;
+
+    @Pattern(regexp = "[A-Za-z0-9.-]+", message = "Invalid email domain")
+    private String emailDomain;
+
+    @JsonIgnore
+    @AssertTrue(message = "Give either ids or a filter (role, emailDomain), not both")
+    public boolean isTargetValid() {
+        boolean byIds = ids != null && !ids.isEmpty();
+        boolean byFilter = role != null || emailDomain != null;
+        return byIds != byFilter;
+    }
+}
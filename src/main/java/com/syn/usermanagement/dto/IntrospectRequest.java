@@ -0,0 +1,23 @@
+package com.syn.usermanagement.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Access tokens to introspect in one call
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IntrospectRequest {
+
+    @NotEmpty(message = "At least one token is required")
+    @Size(max = 500, message = "At most 500 tokens per request")
+    private List<@NotBlank(message = "Token must not be blank") String> tokens;
+}
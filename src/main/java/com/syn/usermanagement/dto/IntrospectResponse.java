@@ -0,0 +1,9 @@
+package com.syn.usermanagement.dto;
+
+import java.util.List;
+
+/**
+ * One result per requested token, in request order
+ */
+public record IntrospectResponse(List<TokenIntrospection> results) {
+}
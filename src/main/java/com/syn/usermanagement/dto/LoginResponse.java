@@ -1,27 +1,12 @@
 package com.syn.usermanagement.dto;
 
-
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
-
-@Data
-@NoArgsConstructor
-@AllArgsConstructor
-public class LoginResponse {
-
-    private String token;
-    private String type = "Bearer";
-    private Long id;
-    private String name;
-    private String email;
-    private String role;
-
-    public LoginResponse(String token, Long id, String name, String email, String role) {
-        this.token = token;
-        this.id = id;
-        this.name = name;
-        this.email = email;
-        this.role = role;
+/**
+ * Token pair plus the user. expiresIn is the access token lifetime in seconds.
+ */
+public record LoginResponse(String token, String type, long expiresIn, String refreshToken,
+                            Long id, String name, String email, String role) {
+
+    public LoginResponse(String token, long expiresIn, String refreshToken, Long id, String name, String email, String role) {
+        this(token, "Bearer", expiresIn, refreshToken, id, name, email, role);
     }
 }
@@ -0,0 +1,15 @@
+package com.syn.usermanagement.dto;
+
+/**
+ * Plain outcome message (auth endpoints)
+ */
+public record MessageResponse(String message, boolean success) {
+
+    public static MessageResponse ok(String message) {
+        return new MessageResponse(message, true);
+    }
+
+    public static MessageResponse failed(String message) {
+        return new MessageResponse(message, false);
+    }
+}
@@ -0,0 +1,17 @@
+package com.syn.usermanagement.dto;
+
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Compact page envelope - replaces PageImpl's pageable/sort metadata
+ */
+public record PageResponse<T>(List<T> content, int page, int size, long totalElements, int totalPages) {
+
+    public static <S, T> PageResponse<T> from(Page<S> page, Function<S, T> mapper) {
+        return new PageResponse<>(page.getContent().stream().map(mapper).toList(),
+                page.getNumber(), page.getSize(), page.getTotalElements(), page.getTotalPages());
+    }
+}
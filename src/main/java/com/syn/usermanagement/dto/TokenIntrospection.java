@@ -0,0 +1,13 @@
+package com.syn.usermanagement.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Introspection result for one token. Inactive tokens carry no other fields.
+ * exp is in epoch seconds, as in RFC 7662.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TokenIntrospection(boolean active, String sub, String role, Long exp) {
+
+    public static final TokenIntrospection INACTIVE = new TokenIntrospection(false, null, null, null);
+}
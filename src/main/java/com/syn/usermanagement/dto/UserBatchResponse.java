@@ -0,0 +1,9 @@
+package com.syn.usermanagement.dto;
+
+import java.util.List;
+
+/**
+ * Batch lookup result: found users in request order, plus the ids that do not exist
+ */
+public record UserBatchResponse(List<UserResponse> users, List<Long> missing) {
+}
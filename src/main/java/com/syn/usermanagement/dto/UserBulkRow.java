@@ -0,0 +1,10 @@
+package com.syn.usermanagement.dto;
+
+import com.syn.usermanagement.entity.User;
+
+/**
+ * Projection used by bulk admin jobs - everything a user event needs, without
+ * loading entities into the persistence context
+ */
+public record UserBulkRow(Long id, String name, String email, String photoUrl, User.Role role, long version) {
+}
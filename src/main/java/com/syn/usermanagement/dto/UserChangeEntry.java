@@ -0,0 +1,14 @@
+package com.syn.usermanagement.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+
+/**
+ * One change feed entry: the current state of a changed user, or a tombstone
+ * (deleted = true, no user) for a deleted one
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record UserChangeEntry(Long userId, String type, boolean deleted, long version,
+                              LocalDateTime changedAt, UserResponse user) {
+}
@@ -0,0 +1,10 @@
+package com.syn.usermanagement.dto;
+
+import java.util.List;
+
+/**
+ * A batch of the change feed. Pass cursor as since= on the next call; when
+ * hasMore is false the caller is in sync and can poll later with the same cursor.
+ */
+public record UserChangesResponse(List<UserChangeEntry> changes, String cursor, boolean hasMore) {
+}
@@ -0,0 +1,9 @@
+package com.syn.usermanagement.dto;
+
+import com.syn.usermanagement.entity.User;
+
+/**
+ * Id, email and role of a user - what a token's subject is checked against
+ */
+public record UserCredentialRow(Long id, String email, User.Role role) {
+}
@@ -0,0 +1,18 @@
+package com.syn.usermanagement.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Payload published for user lifecycle events (never carries the password)
+ */
+public record UserEvent(
+        String eventType,
+        Long userId,
+        String name,
+        String email,
+        String photoUrl,
+        String role,
+        long version,
+        LocalDateTime occurredAt
+) {
+}
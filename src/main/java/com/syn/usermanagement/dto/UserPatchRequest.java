@@ -0,0 +1,26 @@
+package com.syn.usermanagement.dto;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Partial user update - null fields are left unchanged
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserPatchRequest {
+
+    @Pattern(regexp = ".*\\S.*", message = "Name must not be blank")
+    private String name;
+
+    @Email(message = "Invalid email format")
+    private String email;
+
+    @Size(min = 6, message = "Password must be at least 6 characters")
+    private String password;
+}
@@ -0,0 +1,13 @@
+package com.syn.usermanagement.dto;
+
+import com.syn.usermanagement.entity.User;
+
+/**
+ * User as returned by the API - never the entity (no password hash, no lazy state)
+ */
+public record UserResponse(Long id, String name, String email, String photoUrl, String role) {
+
+    public static UserResponse from(User user) {
+        return new UserResponse(user.getId(), user.getName(), user.getEmail(), user.getPhotoUrl(), user.getRole().name());
+    }
+}
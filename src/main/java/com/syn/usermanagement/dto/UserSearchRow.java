@@ -0,0 +1,7 @@
+package com.syn.usermanagement.dto;
+
+/**
+ * Projection used to build the search index (only the indexed columns)
+ */
+public record UserSearchRow(Long id, String name, String email) {
+}
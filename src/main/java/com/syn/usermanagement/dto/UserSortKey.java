@@ -0,0 +1,43 @@
+package com.syn.usermanagement.dto;
+
+import com.syn.usermanagement.exception.InvalidRequestException;
+import org.springframework.data.domain.Sort;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Sort keys accepted by GET /api/users. Each one is backed by an index
+ * (V7__listing_and_purge_indexes.sql); non-unique keys get id as a tiebreaker
+ * so pages are stable and the sort is still served from the index.
+ */
+public enum UserSortKey {
+
+    ID("id"),
+    NAME("name", "id"),
+    EMAIL("email");
+
+    private final String[] properties;
+
+    UserSortKey(String... properties) {
+        this.properties = properties;
+    }
+
+    public String[] getProperties() {
+        return properties.clone();
+    }
+
+    public Sort toSort(Sort.Direction direction) {
+        return Sort.by(direction, properties);
+    }
+
+    public static UserSortKey of(String sortBy) {
+        return Arrays.stream(values())
+                .filter(key -> key.name().equalsIgnoreCase(sortBy))
+                .findFirst()
+                .orElseThrow(() -> new InvalidRequestException("Unsupported sortBy '" + sortBy + "', expected one of: "
+                        + Arrays.stream(values()).map(key -> key.name().toLowerCase(Locale.ROOT))
+                        .collect(Collectors.joining(", "))));
+    }
+}
@@ -0,0 +1,7 @@
+package com.syn.usermanagement.dto;
+
+/**
+ * Id and version of a user - what a list ETag is computed from
+ */
+public record UserVersionRow(Long id, long version) {
+}
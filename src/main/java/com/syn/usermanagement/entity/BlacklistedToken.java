@@ -8,7 +8,7 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "blacklisted_tokens")
+@Table(name = "blacklisted_tokens", indexes = @Index(name = "idx_blacklisted_tokens_expires", columnList = "expires_at"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,43 @@
+package com.syn.usermanagement.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Shared idempotency-key state when several nodes serve the same clients
+ * (idempotency.store=database). A row without a status is still in flight.
+ */
+@Entity
+@Table(name = "idempotency_keys", indexes = @Index(name = "idx_idempotency_keys_expires", columnList = "expires_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyRecord {
+
+    // SHA-256 of caller, endpoint and the client's key
+    @Id
+    @Column(name = "key_hash", length = 64)
+    private String keyHash;
+
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    private Integer status;
+
+    @Column(name = "content_type", length = 100)
+    private String contentType;
+
+    @Lob
+    @Column(length = 1_000_000)
+    private byte[] body;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
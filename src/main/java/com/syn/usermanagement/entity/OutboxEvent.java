@@ -0,0 +1,43 @@
+package com.syn.usermanagement.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Transactional outbox row - written in the same transaction as the user change
+ * and removed by the relay once the broker has confirmed it.
+ */
+@Entity
+@Table(name = "outbox_events")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "aggregate_id", nullable = false)
+    private Long aggregateId;
+
+    @Column(name = "event_type", nullable = false, length = 50)
+    private String eventType;
+
+    @Column(nullable = false, length = 4000)
+    private String payload;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    public OutboxEvent(Long aggregateId, String eventType, String payload) {
+        this.aggregateId = aggregateId;
+        this.eventType = eventType;
+        this.payload = payload;
+        this.createdAt = LocalDateTime.now();
+    }
+}
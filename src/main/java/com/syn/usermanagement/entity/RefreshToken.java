@@ -0,0 +1,58 @@
+package com.syn.usermanagement.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Opaque refresh token, stored as a SHA-256 hash. Every login starts a family;
+ * each refresh marks the presented token used and issues the next one in the
+ * same family, so presenting a used token again means it leaked.
+ */
+@Entity
+@Table(name = "refresh_tokens", indexes = {
+        @Index(name = "idx_refresh_tokens_family", columnList = "family_id"),
+        @Index(name = "idx_refresh_tokens_user", columnList = "user_id"),
+        @Index(name = "idx_refresh_tokens_expires", columnList = "expires_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "token_hash", nullable = false, unique = true, length = 64)
+    private String tokenHash;
+
+    @Column(name = "family_id", nullable = false, length = 36)
+    private String familyId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private LocalDateTime issuedAt;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    // Set when the token is rotated
+    private LocalDateTime usedAt;
+
+    // Set on logout or reuse detection, for the whole family
+    private LocalDateTime revokedAt;
+
+    public RefreshToken(String tokenHash, String familyId, Long userId, LocalDateTime expiresAt) {
+        this.tokenHash = tokenHash;
+        this.familyId = familyId;
+        this.userId = userId;
+        this.issuedAt = LocalDateTime.now();
+        this.expiresAt = expiresAt;
+    }
+}
@@ -0,0 +1,29 @@
+package com.syn.usermanagement.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lease on a scheduled job - the owning node runs it until lockedUntil
+ */
+@Entity
+@Table(name = "scheduler_leases")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SchedulerLease {
+
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    @Column(nullable = false)
+    private String owner;
+
+    @Column(name = "locked_until", nullable = false)
+    private LocalDateTime lockedUntil;
+}
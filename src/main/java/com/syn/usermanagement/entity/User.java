@@ -4,10 +4,16 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
 
+import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "USERS")
+@Table(name = "USERS", indexes = {
+        @Index(name = "idx_users_name_id", columnList = "name, id"),
+        @Index(name = "idx_users_tokens_valid_after", columnList = "tokens_valid_after")
+})
+@DynamicUpdate // UPDATE only the changed columns (plus the version)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -33,6 +39,15 @@ public class User {
     @Column(nullable = false)
     private Role role = Role.USER;
 
+    // Access tokens issued before this instant are rejected ("logout everywhere")
+    @Column(name = "tokens_valid_after")
+    private LocalDateTime tokensValidAfter;
+
+    // Incremented by Hibernate on every update - backs ETags and If-Match
+    @Version
+    @Column(nullable = false)
+    private long version;
+
     public enum Role {
         USER,
         ADMIN
@@ -0,0 +1,49 @@
+package com.syn.usermanagement.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Latest change of a user, for the change feed. One row per user: every change
+ * replaces the row, so it gets a new (higher) seq and the table stays as large
+ * as the user count plus recent tombstones. Deleted users keep a tombstone row
+ * until users.changes.tombstone-retention-ms has passed.
+ */
+@Entity
+@Table(name = "user_changes", indexes = @Index(name = "idx_user_changes_changed_at", columnList = "changed_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long seq;
+
+    @Column(name = "user_id", nullable = false, unique = true)
+    private Long userId;
+
+    @Column(name = "event_type", nullable = false, length = 50)
+    private String eventType;
+
+    @Column(nullable = false)
+    private boolean deleted;
+
+    @Column(nullable = false)
+    private long version;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+
+    public UserChange(Long userId, String eventType, boolean deleted, long version, LocalDateTime changedAt) {
+        this.userId = userId;
+        this.eventType = eventType;
+        this.deleted = deleted;
+        this.version = version;
+        this.changedAt = changedAt;
+    }
+}
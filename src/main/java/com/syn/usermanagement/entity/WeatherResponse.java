@@ -3,7 +3,11 @@ package com.syn.usermanagement.entity;
 import java.util.ArrayList;
 
 public class WeatherResponse {
-    public class AirQuality{
+    public Request request;
+    public Location location;
+    public Current current;
+
+    public static class AirQuality{
         public String co;
         public String no2;
         public String o3;
@@ -12,7 +16,7 @@ public class WeatherResponse {
         public String pm10;
     }
 
-    public class Astro{
+    public static class Astro{
         public String sunrise;
         public String sunset;
         public String moonrise;
@@ -20,7 +24,7 @@ public class WeatherResponse {
 
     }
 
-    public class Current{
+    public static class Current{
         public String observation_time;
         public int temperature;
         public int weather_code;
@@ -39,7 +43,7 @@ public class WeatherResponse {
         public String is_day;
     }
 
-    public class Location{
+    public static class Location{
         public String name;
         public String country;
         public String region;
@@ -51,16 +55,10 @@ public class WeatherResponse {
         public String utc_offset;
     }
 
-    public class Request{
+    public static class Request{
         public String type;
         public String query;
         public String language;
         public String unit;
     }
-
-    public class Root{
-        public Request request;
-        public Location location;
-        public Current current;
-    }
 }
@@ -0,0 +1,7 @@
+package com.syn.usermanagement.exception;
+
+public class CursorExpiredException extends DomainException {
+    public CursorExpiredException(String message) {
+        super(message);
+    }
+}
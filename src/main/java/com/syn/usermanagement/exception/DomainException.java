@@ -0,0 +1,13 @@
+package com.syn.usermanagement.exception;
+
+/**
+ * Expected business outcome (not found, conflict, ...) mapped to a 4xx by
+ * GlobalExceptionHandler. Created without a stack trace: nobody reads it, and
+ * filling it in dominated the cost of a 404 storm.
+ */
+public abstract class DomainException extends RuntimeException {
+
+    protected DomainException(String message) {
+        super(message, null, false, false);
+    }
+}
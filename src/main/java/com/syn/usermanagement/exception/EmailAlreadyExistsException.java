@@ -1,6 +1,6 @@
 package com.syn.usermanagement.exception;
 
-public class EmailAlreadyExistsException extends RuntimeException {
+public class EmailAlreadyExistsException extends DomainException {
     public EmailAlreadyExistsException(String message) {
         super(message);
     }
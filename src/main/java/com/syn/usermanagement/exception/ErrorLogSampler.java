@@ -0,0 +1,38 @@
+package com.syn.usermanagement.exception;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Rate limit for error logs: at most one line per key and interval. Failures
+ * in between are only counted and reported with the next line that gets through.
+ */
+public class ErrorLogSampler {
+
+    private final long intervalMs;
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+    public ErrorLogSampler(long intervalMs) {
+        this.intervalMs = intervalMs;
+    }
+
+    /**
+     * -1 when this failure should not be logged; otherwise how many were skipped since the last line
+     */
+    public long sample(String key) {
+        Window window = windows.computeIfAbsent(key, k -> new Window());
+        long now = System.currentTimeMillis();
+        long next = window.nextLogAt.get();
+        if (now >= next && window.nextLogAt.compareAndSet(next, now + intervalMs)) {
+            return window.suppressed.getAndSet(0);
+        }
+        window.suppressed.incrementAndGet();
+        return -1;
+    }
+
+    private static final class Window {
+        private final AtomicLong nextLogAt = new AtomicLong();
+        private final AtomicLong suppressed = new AtomicLong();
+    }
+}
@@ -0,0 +1,424 @@
+package com.syn.usermanagement.exception;
+
+import com.syn.usermanagement.dto.ErrorResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Global Exception Handler - Catches all exceptions and logs them
+ *
+ * Spring MVC's own request errors (unreadable body, bad path variable, missing
+ * header, ...) keep their 4xx status via ResponseEntityExceptionHandler; 500s
+ * always carry a generic message.
+ *
+ * Every error is counted in api.errors (status, exception). Client errors (4xx)
+ * are logged at most once per errors.log-sample-interval-ms and type, without a
+ * stack trace, so a 404 storm from bots costs a counter increment per request.
+ * Server errors are always logged in full.
+ */
+@RestControllerAdvice
+public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
+
+    // Server errors never echo exception messages
+    private static final String GENERIC_MESSAGE = "An unexpected error occurred";
+
+    private final MeterRegistry meterRegistry;
+    private final ErrorLogSampler sampler;
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    // Error bodies in the same millisecond share one timestamp string
+    private volatile Timestamp lastTimestamp = new Timestamp(0, "");
+
+    public GlobalExceptionHandler(
+            MeterRegistry meterRegistry,
+            @Value("${errors.log-sample-interval-ms:1000}") long logSampleIntervalMs
+    ) {
+        this.meterRegistry = meterRegistry;
+        this.sampler = new ErrorLogSampler(logSampleIntervalMs);
+    }
+
+    /**
+     * Handle validation errors
+     */
+    @Override
+    protected ResponseEntity<Object> handleMethodArgumentNotValid(
+            MethodArgumentNotValidException ex,
+            HttpHeaders headers,
+            HttpStatusCode status,
+            WebRequest request
+    ) {
+        Map<String, String> fieldErrors = new HashMap<>();
+        ex.getBindingResult().getAllErrors().forEach(error -> {
+            String fieldName = ((FieldError) error).getField();
+            String errorMessage = error.getDefaultMessage();
+            fieldErrors.put(fieldName, errorMessage);
+        });
+
+        long suppressed = countAndSample(HttpStatus.BAD_REQUEST, ex);
+        if (suppressed >= 0) {
+            logger.warn("⚠️ VALIDATION ERROR - URI: {} - Errors: {} - Suppressed: {}",
+                    requestUri(request), fieldErrors, suppressed);
+        }
+
+        return ResponseEntity.badRequest().body(new ErrorResponse(
+                timestamp(),
+                HttpStatus.BAD_REQUEST.value(),
+                "Validation Failed",
+                "Invalid input data",
+                requestUri(request),
+                fieldErrors
+        ));
+    }
+
+    /**
+     * Handle the framework's request errors (unreadable body, type mismatch, missing
+     * header or parameter, unsupported method, unknown route) with their 4xx status
+     */
+    @Override
+    protected ResponseEntity<Object> handleExceptionInternal(
+            Exception ex,
+            Object body,
+            HttpHeaders headers,
+            HttpStatusCode statusCode,
+            WebRequest request
+    ) {
+        long suppressed = countAndSample(statusCode, ex);
+        if (statusCode.is5xxServerError()) {
+            logger.error("🔥 REQUEST HANDLING ERROR - URI: {} - Message: {}", requestUri(request), ex.getMessage(), ex);
+        } else if (suppressed >= 0) {
+            logger.warn("🚫 BAD REQUEST - URI: {} - Status: {} - Type: {} - Suppressed: {}",
+                    requestUri(request), statusCode.value(), ex.getClass().getSimpleName(), suppressed);
+        }
+
+        // The framework's own detail text (never a parser message); nothing for server errors
+        String message = statusCode.is5xxServerError() || !(body instanceof ProblemDetail problem)
+                ? GENERIC_MESSAGE
+                : problem.getDetail();
+        HttpStatus status = HttpStatus.valueOf(statusCode.value());
+        return ResponseEntity.status(statusCode).headers(headers).body(new ErrorResponse(
+                timestamp(),
+                status.value(),
+                status.getReasonPhrase(),
+                message,
+                requestUri(request),
+                null
+        ));
+    }
+
+    /**
+     * Handle bad credentials
+     */
+    @ExceptionHandler(BadCredentialsException.class)
+    public ResponseEntity<ErrorResponse> handleBadCredentials(
+            BadCredentialsException ex,
+            HttpServletRequest request
+    ) {
+        long suppressed = countAndSample(HttpStatus.UNAUTHORIZED, ex);
+        if (suppressed >= 0) {
+            logger.warn("🔒 AUTHENTICATION FAILED - URI: {} - Message: {} - Suppressed: {}",
+                    request.getRequestURI(), ex.getMessage(), suppressed);
+        }
+
+        return buildErrorResponse(
+                HttpStatus.UNAUTHORIZED,
+                "Authentication Failed",
+                "Invalid username or password",
+                request.getRequestURI()
+        );
+    }
+
+    /**
+     * Handle access denied
+     */
+    @ExceptionHandler(AccessDeniedException.class)
+    public ResponseEntity<ErrorResponse> handleAccessDenied(
+            AccessDeniedException ex,
+            HttpServletRequest request
+    ) {
+        long suppressed = countAndSample(HttpStatus.FORBIDDEN, ex);
+        if (suppressed >= 0) {
+            logger.warn("🚫 ACCESS DENIED - URI: {} - Message: {} - Suppressed: {}",
+                    request.getRequestURI(), ex.getMessage(), suppressed);
+        }
+
+        return buildErrorResponse(
+                HttpStatus.FORBIDDEN,
+                "Access Denied",
+                "You don't have permission to access this resource",
+                request.getRequestURI()
+        );
+    }
+
+    /**
+     * Handle resource not found
+     */
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleResourceNotFound(
+            ResourceNotFoundException ex,
+            HttpServletRequest request
+    ) {
+        long suppressed = countAndSample(HttpStatus.NOT_FOUND, ex);
+        if (suppressed >= 0) {
+            logger.warn("🔍 RESOURCE NOT FOUND - URI: {} - Message: {} - Suppressed: {}",
+                    request.getRequestURI(), ex.getMessage(), suppressed);
+        }
+
+        return buildErrorResponse(
+                HttpStatus.NOT_FOUND,
+                "Resource Not Found",
+                ex.getMessage(),
+                request.getRequestURI()
+        );
+    }
+
+    /**
+     * Handle unknown, expired, revoked or reused refresh tokens
+     */
+    @ExceptionHandler(InvalidRefreshTokenException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidRefreshToken(
+            InvalidRefreshTokenException ex,
+            HttpServletRequest request
+    ) {
+        long suppressed = countAndSample(HttpStatus.UNAUTHORIZED, ex);
+        if (suppressed >= 0) {
+            logger.warn("🔑 INVALID REFRESH TOKEN - URI: {} - Message: {} - Suppressed: {}",
+                    request.getRequestURI(), ex.getMessage(), suppressed);
+        }
+
+        return buildErrorResponse(
+                HttpStatus.UNAUTHORIZED,
+                "Unauthorized",
+                ex.getMessage(),
+                request.getRequestURI()
+        );
+    }
+
+    /**
+     * Handle If-Match version mismatch
+     */
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ErrorResponse> handlePreconditionFailed(
+            PreconditionFailedException ex,
+            HttpServletRequest request
+    ) {
+        long suppressed = countAndSample(HttpStatus.PRECONDITION_FAILED, ex);
+        if (suppressed >= 0) {
+            logger.warn("🏷️ PRECONDITION FAILED - URI: {} - Message: {} - Suppressed: {}",
+                    request.getRequestURI(), ex.getMessage(), suppressed);
+        }
+
+        return buildErrorResponse(
+                HttpStatus.PRECONDITION_FAILED,
+                "Precondition Failed",
+                ex.getMessage(),
+                request.getRequestURI()
+        );
+    }
+
+    /**
+     * Handle concurrent updates caught by the entity version check
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailure(
+            OptimisticLockingFailureException ex,
+            HttpServletRequest request
+    ) {
+        long suppressed = countAndSample(HttpStatus.CONFLICT, ex);
+        if (suppressed >= 0) {
+            logger.warn("⚔️ CONCURRENT UPDATE - URI: {} - Message: {} - Suppressed: {}",
+                    request.getRequestURI(), ex.getMessage(), suppressed);
+        }
+
+        return buildErrorResponse(
+                HttpStatus.CONFLICT,
+                "Conflict",
+                "The resource was modified concurrently, reload and retry",
+                request.getRequestURI()
+        );
+    }
+
+    /**
+     * Handle duplicate emails on create / update
+     */
+    @ExceptionHandler(EmailAlreadyExistsException.class)
+    public ResponseEntity<ErrorResponse> handleEmailAlreadyExists(
+            EmailAlreadyExistsException ex,
+            HttpServletRequest request
+    ) {
+        long suppressed = countAndSample(HttpStatus.CONFLICT, ex);
+        if (suppressed >= 0) {
+            logger.warn("📧 EMAIL ALREADY EXISTS - URI: {} - Message: {} - Suppressed: {}",
+                    request.getRequestURI(), ex.getMessage(), suppressed);
+        }
+
+        return buildErrorResponse(
+                HttpStatus.CONFLICT,
+                "Conflict",
+                ex.getMessage(),
+                request.getRequestURI()
+        );
+    }
+
+    /**
+     * Handle request parameters outside what an endpoint supports
+     */
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidRequest(
+            InvalidRequestException ex,
+            HttpServletRequest request
+    ) {
+        long suppressed = countAndSample(HttpStatus.BAD_REQUEST, ex);
+        if (suppressed >= 0) {
+            logger.warn("🚫 INVALID REQUEST - URI: {} - Message: {} - Suppressed: {}",
+                    request.getRequestURI(), ex.getMessage(), suppressed);
+        }
+
+        return buildErrorResponse(
+                HttpStatus.BAD_REQUEST,
+                "Bad Request",
+                ex.getMessage(),
+                request.getRequestURI()
+        );
+    }
+
+    /**
+     * Handle change feed cursors older than the tombstone retention
+     */
+    @ExceptionHandler(CursorExpiredException.class)
+    public ResponseEntity<ErrorResponse> handleCursorExpired(
+            CursorExpiredException ex,
+            HttpServletRequest request
+    ) {
+        long suppressed = countAndSample(HttpStatus.GONE, ex);
+        if (suppressed >= 0) {
+            logger.warn("⌛ CURSOR EXPIRED - URI: {} - Message: {} - Suppressed: {}",
+                    request.getRequestURI(), ex.getMessage(), suppressed);
+        }
+
+        return buildErrorResponse(
+                HttpStatus.GONE,
+                "Gone",
+                ex.getMessage(),
+                request.getRequestURI()
+        );
+    }
+
+    /**
+     * Handle all other runtime exceptions
+     */
+    @ExceptionHandler(RuntimeException.class)
+    public ResponseEntity<ErrorResponse> handleRuntimeException(
+            RuntimeException ex,
+            HttpServletRequest request
+    ) {
+        countAndSample(HttpStatus.INTERNAL_SERVER_ERROR, ex);
+        logger.error("🔥 RUNTIME EXCEPTION - URI: {} - Message: {}",
+                request.getRequestURI(), ex.getMessage(), ex);
+
+        return buildErrorResponse(
+                HttpStatus.INTERNAL_SERVER_ERROR,
+                "Internal Server Error",
+                GENERIC_MESSAGE,
+                request.getRequestURI()
+        );
+    }
+
+    /**
+     * Handle all other exceptions (catch-all)
+     */
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ErrorResponse> handleAllExceptions(
+            Exception ex,
+            HttpServletRequest request
+    ) {
+        countAndSample(HttpStatus.INTERNAL_SERVER_ERROR, ex);
+        logger.error("💥 UNEXPECTED EXCEPTION - URI: {} - Type: {} - Message: {}",
+                request.getRequestURI(), ex.getClass().getSimpleName(), ex.getMessage(), ex);
+
+        return buildErrorResponse(
+                HttpStatus.INTERNAL_SERVER_ERROR,
+                "Internal Server Error",
+                GENERIC_MESSAGE,
+                request.getRequestURI()
+        );
+    }
+
+    /**
+     * Build error response
+     */
+    private ResponseEntity<ErrorResponse> buildErrorResponse(
+            HttpStatus status,
+            String error,
+            String message,
+            String path
+    ) {
+        return ResponseEntity.status(status).body(new ErrorResponse(
+                timestamp(),
+                status.value(),
+                error,
+                message,
+                path,
+                null
+        ));
+    }
+
+    /**
+     * Count the error; -1 when its log line is skipped, else how many were skipped before it
+     */
+    private long countAndSample(HttpStatusCode status, Exception ex) {
+        String key = status.value() + ":" + ex.getClass().getSimpleName();
+        counters.computeIfAbsent(key, k -> Counter.builder("api.errors")
+                        .tag("status", String.valueOf(status.value()))
+                        .tag("exception", ex.getClass().getSimpleName())
+                        .register(meterRegistry))
+                .increment();
+        return sampler.sample(key);
+    }
+
+    private static String requestUri(WebRequest request) {
+        return request instanceof ServletWebRequest servletRequest
+                ? servletRequest.getRequest().getRequestURI()
+                : request.getDescription(false);
+    }
+
+    private String timestamp() {
+        long now = System.currentTimeMillis();
+        Timestamp cached = lastTimestamp;
+        if (cached.millis() != now) {
+            cached = new Timestamp(now, LocalDateTime.ofInstant(Instant.ofEpochMilli(now), ZoneId.systemDefault()).toString());
+            lastTimestamp = cached;
+        }
+        return cached.text();
+    }
+
+    private record Timestamp(long millis, String text) {
+    }
+}
@@ -0,0 +1,21 @@
+package com.syn.usermanagement.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Idempotency-Key misuse: reused with a different payload (422), or the
+ * original request is still running after the wait timeout (409)
+ */
+public class IdempotencyKeyException extends RuntimeException {
+
+    private final HttpStatus status;
+
+    public IdempotencyKeyException(HttpStatus status, String message) {
+        super(message);
+        this.status = status;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+}
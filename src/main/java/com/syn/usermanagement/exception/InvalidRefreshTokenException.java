@@ -0,0 +1,7 @@
+package com.syn.usermanagement.exception;
+
+public class InvalidRefreshTokenException extends DomainException {
+    public InvalidRefreshTokenException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.syn.usermanagement.exception;
+
+public class InvalidRequestException extends DomainException {
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
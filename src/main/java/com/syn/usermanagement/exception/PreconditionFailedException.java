@@ -0,0 +1,7 @@
+package com.syn.usermanagement.exception;
+
+public class PreconditionFailedException extends DomainException {
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
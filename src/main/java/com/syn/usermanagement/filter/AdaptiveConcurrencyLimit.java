@@ -0,0 +1,100 @@
+package com.syn.usermanagement.filter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Concurrency limit for one endpoint group, adjusted from measured latency
+ * (AIMD with a latency gradient).
+ *
+ * The limit grows by one while requests complete near the no-load baseline and
+ * the limit is actually in use; it shrinks multiplicatively once smoothed latency
+ * exceeds baseline * tolerance (requests are queueing on something, usually the
+ * database) or a request fails with an overload status. Requests beyond the
+ * limit are rejected instead of waiting.
+ *
+ * Samples under the latency floor do not set the baseline: a group that mixes
+ * sub-millisecond cache hits with database reads would otherwise baseline on
+ * the cache hits and read every database round trip as queueing.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    private static final double SMOOTHING = 0.2;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double backoffRatio;
+    private final long latencyFloorNanos;
+    private final long baselineResetNanos;
+    private final LongSupplier clock;
+
+    private final AtomicInteger inflight = new AtomicInteger();
+
+    private volatile double limit;
+    private double smoothedRttNanos;
+    private long baselineRttNanos;
+    private long baselineSetAt;
+
+    public AdaptiveConcurrencyLimit(AdmissionControlProperties.GroupLimits limits, AdmissionControlProperties properties,
+                                    LongSupplier clock) {
+        this.minLimit = limits.getMinLimit();
+        this.maxLimit = limits.getMaxLimit();
+        this.limit = limits.getInitialLimit();
+        this.tolerance = properties.getTolerance();
+        this.backoffRatio = properties.getBackoffRatio();
+        this.latencyFloorNanos = properties.getLatencyFloorMs() * 1_000_000;
+        this.baselineResetNanos = properties.getBaselineResetMs() * 1_000_000;
+        this.clock = clock;
+        this.baselineSetAt = clock.getAsLong();
+    }
+
+    /**
+     * Take a slot; false when the group is at its limit
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inflight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Release a slot and feed the request's latency into the limit
+     */
+    public void release(long rttNanos, boolean overloaded) {
+        int inflightBefore = inflight.getAndDecrement();
+        update(rttNanos, inflightBefore, overloaded);
+    }
+
+    private synchronized void update(long rttNanos, int inflightBefore, boolean overloaded) {
+        long now = clock.getAsLong();
+        if (rttNanos >= latencyFloorNanos
+                && (baselineRttNanos == 0 || rttNanos < baselineRttNanos || now - baselineSetAt > baselineResetNanos)) {
+            baselineRttNanos = rttNanos;
+            baselineSetAt = now;
+        }
+        smoothedRttNanos = smoothedRttNanos == 0 ? rttNanos : smoothedRttNanos + SMOOTHING * (rttNanos - smoothedRttNanos);
+
+        double queueingThreshold = Math.max(baselineRttNanos * tolerance, latencyFloorNanos);
+        if (overloaded || smoothedRttNanos > queueingThreshold) {
+            limit = Math.max(minLimit, limit * backoffRatio);
+        } else if (inflightBefore * 2 >= limit) {
+            // Only grow while the current limit is in use
+            limit = Math.min(maxLimit, limit + 1);
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInflight() {
+        return inflight.get();
+    }
+}
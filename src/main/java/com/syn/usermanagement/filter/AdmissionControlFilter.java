@@ -0,0 +1,140 @@
+package com.syn.usermanagement.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.syn.usermanagement.dto.ErrorResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Admission control: sheds load with a fast 503 + Retry-After once an endpoint
+ * group reaches its adaptive concurrency limit, instead of letting requests
+ * pile up on Tomcat threads while the database is slow.
+ *
+ * The limit adapts to latency against a learned baseline, so each group holds
+ * one latency class: BCrypt-bound login/register apart from token calls that
+ * take a few ms, S3 photo uploads apart from plain writes, and third-party
+ * calls apart from reads served by this service.
+ *
+ * Runs right after MdcRequestFilter, before security, so a shed request costs
+ * no token parsing or database work. Limits are exposed as admission.limit.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdmissionControlFilter.class);
+
+    private static final String EVENT_STREAM_PATH = "/api/admin/users/stream";
+    private static final Set<String> CREDENTIAL_PATHS = Set.of("/api/auth/login", "/api/auth/register");
+    private static final Set<String> OUTBOUND_PATHS = Set.of("/api/users/weather");
+
+    private final AdmissionControlProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Map<String, AdaptiveConcurrencyLimit> limits = new HashMap<>();
+    private final Map<String, Counter> rejected = new HashMap<>();
+
+    public AdmissionControlFilter(AdmissionControlProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        properties.getGroups().forEach((group, groupLimits) -> {
+            AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(groupLimits, properties, System::nanoTime);
+            limits.put(group, limit);
+            Gauge.builder("admission.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                    .tag("group", group).register(meterRegistry);
+            Gauge.builder("admission.inflight", limit, AdaptiveConcurrencyLimit::getInflight)
+                    .tag("group", group).register(meterRegistry);
+            rejected.put(group, Counter.builder("admission.rejected").tag("group", group).register(meterRegistry));
+        });
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        // Event streams hand their thread back at once and stay open for minutes - not a latency sample
+        return !properties.isEnabled() || uri.startsWith("/actuator/") || uri.equals(EVENT_STREAM_PATH)
+                || "OPTIONS".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        String group = groupOf(request);
+        AdaptiveConcurrencyLimit limit = limits.get(group);
+        if (limit == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        if (!limit.tryAcquire()) {
+            rejected.get(group).increment();
+            logger.debug("⛔ REQUEST SHED - Group: {} - Limit: {} - {} {}",
+                    group, limit.getLimit(), request.getMethod(), request.getRequestURI());
+            writeShed(request, response);
+            return;
+        }
+
+        long started = System.nanoTime();
+        boolean overloaded = true;
+        try {
+            filterChain.doFilter(request, response);
+            int status = response.getStatus();
+            overloaded = status == HttpStatus.SERVICE_UNAVAILABLE.value() || status == HttpStatus.GATEWAY_TIMEOUT.value();
+        } finally {
+            limit.release(System.nanoTime() - started, overloaded);
+        }
+    }
+
+    /**
+     * credentials: login, registration (a password hash each); token: the other auth calls;
+     * photo: photo upload and removal (an S3 round trip); outbound: proxied third-party calls (weather);
+     * write: any other mutating method; read: the rest
+     */
+    static String groupOf(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        if (uri.startsWith("/api/auth/")) {
+            return CREDENTIAL_PATHS.contains(uri) ? "credentials" : "token";
+        }
+        if (OUTBOUND_PATHS.contains(uri)) {
+            return "outbound";
+        }
+        return switch (request.getMethod()) {
+            case "GET", "HEAD" -> "read";
+            default -> uri.endsWith("/photo") ? "photo" : "write";
+        };
+    }
+
+    private void writeShed(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(properties.getRetryAfterSeconds()));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(
+                LocalDateTime.now().toString(), status.value(), status.getReasonPhrase(),
+                "Server is busy, retry later", request.getRequestURI(), null));
+    }
+}
@@ -0,0 +1,63 @@
+package com.syn.usermanagement.filter;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Admission control settings (admission.*): one adaptive concurrency limit per
+ * endpoint group. Keep the sum of max-limit below the Tomcat thread count, so
+ * excess requests are shed before they can tie up every worker.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "admission")
+public class AdmissionControlProperties {
+
+    private boolean enabled = true;
+
+    // Latency above baseline * tolerance counts as queueing
+    private double tolerance = 2.0;
+
+    // Multiplicative decrease on queueing or overload
+    private double backoffRatio = 0.9;
+
+    // Latencies below this never shrink the limit, nor set the baseline (cache hits in a group of database reads)
+    private long latencyFloorMs = 5;
+
+    // The no-load baseline is re-learned this often, so a permanent shift is picked up
+    private long baselineResetMs = 30000;
+
+    private int retryAfterSeconds = 1;
+
+    private Map<String, GroupLimits> groups = new LinkedHashMap<>(Map.of(
+            "credentials", new GroupLimits(10, 4, 30),
+            "token", new GroupLimits(20, 4, 40),
+            "read", new GroupLimits(40, 8, 80),
+            "write", new GroupLimits(10, 4, 20),
+            "photo", new GroupLimits(4, 2, 10),
+            "outbound", new GroupLimits(4, 2, 10)
+    ));
+
+    @Data
+    public static class GroupLimits {
+
+        private int initialLimit;
+
+        private int minLimit;
+
+        private int maxLimit;
+
+        public GroupLimits() {
+        }
+
+        public GroupLimits(int initialLimit, int minLimit, int maxLimit) {
+            this.initialLimit = initialLimit;
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+        }
+    }
+}
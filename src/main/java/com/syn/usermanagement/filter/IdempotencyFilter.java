@@ -0,0 +1,216 @@
+package com.syn.usermanagement.filter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.syn.usermanagement.dto.ErrorResponse;
+import com.syn.usermanagement.exception.IdempotencyKeyException;
+import com.syn.usermanagement.service.IdempotencyService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Idempotency-Key support for create endpoints that mobile clients retry on
+ * timeouts (registration, user creation).
+ *
+ * The key is scoped to the caller and endpoint. The first request runs and its
+ * response (anything below 500) is stored; a duplicate with the same body gets
+ * that response replayed with Idempotent-Replayed: true, without hashing a
+ * password or touching the users table again.
+ *
+ * Credentials are never stored: the token fields of a JSON response
+ * (idempotency.excluded-fields) are dropped before it is kept, so a replayed
+ * registration carries the created user but no tokens - the client logs in
+ * with the credentials it just sent.
+ */
+@Component
+@RequiredArgsConstructor
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyFilter.class);
+
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    public static final String REPLAYED = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyService idempotencyService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${idempotency.paths:/api/auth/register,/api/users}")
+    private List<String> paths;
+
+    @Value("${idempotency.excluded-fields:token,refreshToken}")
+    private List<String> excludedFields;
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !"POST".equals(request.getMethod())
+                || request.getHeader(IDEMPOTENCY_KEY) == null
+                || !paths.contains(request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        String key = request.getHeader(IDEMPOTENCY_KEY);
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            writeError(request, response, HttpStatus.BAD_REQUEST, "Idempotency-Key must be 1-" + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+
+        byte[] body = StreamUtils.copyToByteArray(request.getInputStream());
+        String keyHash = IdempotencyService.sha256Hex((caller() + '\n' + request.getRequestURI() + '\n' + key)
+                .getBytes(StandardCharsets.UTF_8));
+
+        IdempotencyService.StoredResponse replay;
+        try {
+            replay = idempotencyService.begin(keyHash, IdempotencyService.sha256Hex(body));
+        } catch (IdempotencyKeyException e) {
+            writeError(request, response, e.getStatus(), e.getMessage());
+            return;
+        }
+
+        if (replay != null) {
+            logger.info("🔁 IDEMPOTENT REPLAY - {} {} - Status: {}", request.getMethod(), request.getRequestURI(), replay.status());
+            response.setStatus(replay.status());
+            response.setHeader(REPLAYED, "true");
+            if (replay.contentType() != null) {
+                response.setContentType(replay.contentType());
+            }
+            response.getOutputStream().write(replay.body());
+            return;
+        }
+
+        ContentCachingResponseWrapper wrapped = new ContentCachingResponseWrapper(response);
+        boolean completed = false;
+        try {
+            filterChain.doFilter(new CachedBodyRequest(request, body), wrapped);
+            // Server errors are not replayed - the client's retry should run again
+            if (wrapped.getStatus() < 500) {
+                idempotencyService.complete(keyHash, new IdempotencyService.StoredResponse(
+                        wrapped.getStatus(), wrapped.getContentType(),
+                        withoutExcludedFields(wrapped.getContentType(), wrapped.getContentAsByteArray())));
+                completed = true;
+            }
+        } finally {
+            if (!completed) {
+                idempotencyService.release(keyHash);
+            }
+            wrapped.copyBodyToResponse();
+        }
+    }
+
+    /**
+     * JSON object body minus the excluded (token) fields; anything else as is
+     */
+    private byte[] withoutExcludedFields(String contentType, byte[] body) throws IOException {
+        if (contentType == null || !MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(contentType))) {
+            return body;
+        }
+        JsonNode json = objectMapper.readTree(body);
+        if (!(json instanceof ObjectNode object) || excludedFields.stream().noneMatch(object::has)) {
+            return body;
+        }
+        object.remove(excludedFields);
+        return objectMapper.writeValueAsBytes(object);
+    }
+
+    private static String caller() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth != null && auth.isAuthenticated() ? auth.getName() : "anonymous";
+    }
+
+    private void writeError(HttpServletRequest request, HttpServletResponse response,
+                            HttpStatus status, String message) throws IOException {
+        logger.warn("⚠️ IDEMPOTENCY KEY REJECTED - URI: {} - Status: {} - Reason: {}",
+                request.getRequestURI(), status.value(), message);
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(
+                LocalDateTime.now().toString(), status.value(), status.getReasonPhrase(),
+                message, request.getRequestURI(), null));
+    }
+
+    /**
+     * Request whose body was already read for hashing
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(new ByteArrayInputStream(body),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+    }
+}
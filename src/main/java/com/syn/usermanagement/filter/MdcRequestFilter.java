@@ -50,7 +50,7 @@ public class MdcRequestFilter extends OncePerRequestFilter {
 
         try {
             // Generate unique request ID
-            String requestId = UUID.randomUUID().toString().substring(0, 8);
+            String requestId = generateRequestId();
             MDC.put(REQUEST_ID, requestId);
 
             // Get client IP
@@ -85,10 +85,17 @@ public class MdcRequestFilter extends OncePerRequestFilter {
         }
     }
 
+    /**
+     * Short request ID for log correlation
+     */
+    static String generateRequestId() {
+        return UUID.randomUUID().toString().substring(0, 8);
+    }
+
     /**
      * Get client IP address (handles proxies)
      */
-    private String getClientIp(HttpServletRequest request) {
+    static String getClientIp(HttpServletRequest request) {
         String ip = request.getHeader("X-Forwarded-For");
         if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
             ip = request.getHeader("X-Real-IP");
@@ -1,6 +1,7 @@
 package com.syn.usermanagement.repository;
 
 import com.syn.usermanagement.entity.BlacklistedToken;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -8,6 +9,8 @@ import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 
 @Repository
 public interface BlacklistedTokenRepository extends JpaRepository<BlacklistedToken, Long> {
@@ -18,10 +21,27 @@ public interface BlacklistedTokenRepository extends JpaRepository<BlacklistedTok
     boolean existsByToken(String token);
 
     /**
-     * Delete expired blacklisted tokens (cleanup job)
+     * Which of the given tokens are blacklisted - one query for a whole batch.
+     * Read-write so it runs on the primary, like every revocation check
+     */
+    @Transactional
+    @Query("SELECT b.token FROM BlacklistedToken b WHERE b.token IN :tokens")
+    List<String> findBlacklisted(Collection<String> tokens);
+
+    /**
+     * Ids of a chunk of expired tokens, oldest first (idx_blacklisted_tokens_expires).
+     * Read-write so it joins the caller's delete on the primary - a lagging replica
+     * would keep handing back ids that are already gone
+     */
+    @Transactional
+    @Query("SELECT b.id FROM BlacklistedToken b WHERE b.expiresAt < :now ORDER BY b.expiresAt")
+    List<Long> findExpiredIds(LocalDateTime now, Pageable pageable);
+
+    /**
+     * Delete one chunk by primary key - short transaction, row locks only
      */
     @Modifying
     @Transactional
-    @Query("DELETE FROM BlacklistedToken b WHERE b.expiresAt < :now")
-    void deleteExpiredTokens(LocalDateTime now);
+    @Query("DELETE FROM BlacklistedToken b WHERE b.id IN :ids")
+    int deleteByIds(Collection<Long> ids);
 }
\ No newline at end of file
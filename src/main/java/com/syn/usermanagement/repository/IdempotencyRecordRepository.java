@@ -0,0 +1,43 @@
+package com.syn.usermanagement.repository;
+
+import com.syn.usermanagement.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    /**
+     * Claim a key - fails with a duplicate key error when another request holds it.
+     * A plain insert, because save() would merge into the existing row.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO idempotency_keys (key_hash, request_hash, created_at, expires_at) " +
+            "VALUES (:keyHash, :requestHash, :createdAt, :expiresAt)", nativeQuery = true)
+    void insertClaim(String keyHash, String requestHash, LocalDateTime createdAt, LocalDateTime expiresAt);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE IdempotencyRecord r SET r.status = :status, r.contentType = :contentType, r.body = :body " +
+            "WHERE r.keyHash = :keyHash")
+    int complete(String keyHash, int status, String contentType, byte[] body);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.keyHash = :keyHash")
+    int release(String keyHash);
+
+    /**
+     * Delete expired keys (cleanup job)
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :now")
+    int deleteExpired(LocalDateTime now);
+}
@@ -0,0 +1,21 @@
+package com.syn.usermanagement.repository;
+
+import com.syn.usermanagement.entity.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Oldest pending events first (id order is commit order per user).
+     * Read-write so it is served by the primary - a lagging replica would
+     * hand back rows the relay already deleted.
+     */
+    @Transactional
+    List<OutboxEvent> findAllByOrderByIdAsc(Pageable pageable);
+}
@@ -0,0 +1,45 @@
+package com.syn.usermanagement.repository;
+
+import com.syn.usermanagement.entity.RefreshToken;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    /**
+     * Row-locked, so two concurrent refreshes with the same token can't both rotate it
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    /**
+     * Revoke every live token of a family (logout, reuse detection)
+     */
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.revokedAt = :now WHERE r.familyId = :familyId AND r.revokedAt IS NULL")
+    int revokeFamily(String familyId, LocalDateTime now);
+
+    /**
+     * Revoke every live token of a user (forced logout everywhere)
+     */
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.revokedAt = :now WHERE r.userId = :userId AND r.revokedAt IS NULL")
+    int revokeAllForUser(Long userId, LocalDateTime now);
+
+    /**
+     * Delete expired refresh tokens (cleanup job)
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RefreshToken r WHERE r.expiresAt < :now")
+    int deleteExpiredTokens(LocalDateTime now);
+}
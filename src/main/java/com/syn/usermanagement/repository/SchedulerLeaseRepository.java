@@ -0,0 +1,40 @@
+package com.syn.usermanagement.repository;
+
+import com.syn.usermanagement.entity.SchedulerLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface SchedulerLeaseRepository extends JpaRepository<SchedulerLease, String> {
+
+    /**
+     * Take (or renew) a lease that is expired or already ours - 1 when we hold it now
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE SchedulerLease l SET l.owner = :owner, l.lockedUntil = :lockedUntil " +
+            "WHERE l.name = :name AND (l.lockedUntil <= :now OR l.owner = :owner)")
+    int tryAcquire(String name, String owner, LocalDateTime now, LocalDateTime lockedUntil);
+
+    /**
+     * Whether the lease row exists yet. Read-write so it runs on the primary with
+     * the rest of the lease bookkeeping, never on a replica that may not have it
+     */
+    @Override
+    @Transactional
+    boolean existsById(String name);
+
+    /**
+     * First use of a lease - fails with a duplicate key error when another node created it first
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO scheduler_leases (name, owner, locked_until) VALUES (:name, :owner, :lockedUntil)",
+            nativeQuery = true)
+    void insertLease(String name, String owner, LocalDateTime lockedUntil);
+}
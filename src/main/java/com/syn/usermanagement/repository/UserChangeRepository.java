@@ -0,0 +1,45 @@
+package com.syn.usermanagement.repository;
+
+import com.syn.usermanagement.entity.UserChange;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface UserChangeRepository extends JpaRepository<UserChange, Long> {
+
+    /**
+     * Changes after a seq, oldest first - a range scan on the primary key
+     */
+    @Query("SELECT c FROM UserChange c WHERE c.seq > :afterSeq ORDER BY c.seq")
+    List<UserChange> findAfter(long afterSeq, Pageable pageable);
+
+    /**
+     * The database clock - change times and the settle cutoff both come from it,
+     * so clock skew between application nodes cannot hide a change
+     */
+    @Query(value = "SELECT LOCALTIMESTAMP(6)", nativeQuery = true)
+    LocalDateTime currentTime();
+
+    /**
+     * Drop the previous change of these users before recording the new one
+     */
+    @Modifying
+    @Query("DELETE FROM UserChange c WHERE c.userId IN :userIds")
+    int deleteByUserIds(Collection<Long> userIds);
+
+    /**
+     * Tombstone cleanup
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM UserChange c WHERE c.deleted = true AND c.changedAt < :before")
+    int deleteTombstonesBefore(LocalDateTime before);
+}
@@ -1,13 +1,112 @@
 package com.syn.usermanagement.repository;
 
+import com.syn.usermanagement.dto.UserBulkRow;
+import com.syn.usermanagement.dto.UserCredentialRow;
+import com.syn.usermanagement.dto.UserSearchRow;
+import com.syn.usermanagement.dto.UserVersionRow;
 import com.syn.usermanagement.entity.User;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
-}
\ No newline at end of file
+
+    /**
+     * Keyset page of search rows (id, name, email) after the given id
+     */
+    @Query("SELECT new com.syn.usermanagement.dto.UserSearchRow(u.id, u.name, u.email) " +
+            "FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<UserSearchRow> findSearchRowsAfter(Long afterId, Pageable pageable);
+
+    /**
+     * Version only - enough to answer a conditional GET
+     */
+    @Transactional(readOnly = true)
+    @Query("SELECT u.version FROM User u WHERE u.id = :id")
+    Optional<Long> findVersionById(Long id);
+
+    /**
+     * (id, version) page with the same paging and sorting as findAll(pageable)
+     */
+    @Query(value = "SELECT new com.syn.usermanagement.dto.UserVersionRow(u.id, u.version) FROM User u",
+            countQuery = "SELECT COUNT(u) FROM User u")
+    Page<UserVersionRow> findVersionRows(Pageable pageable);
+
+    /**
+     * (id, email, role) of the given users - token introspection checks a whole batch with one query
+     */
+    @Transactional(readOnly = true)
+    @Query("SELECT new com.syn.usermanagement.dto.UserCredentialRow(u.id, u.email, u.role) FROM User u WHERE u.id IN :ids")
+    List<UserCredentialRow> findCredentialRowsByIds(Collection<Long> ids);
+
+    /**
+     * Users whose token epoch moved after the given instant - a range scan on idx_users_tokens_valid_after
+     */
+    @Query("SELECT u.id, u.tokensValidAfter FROM User u WHERE u.tokensValidAfter > :since")
+    List<Object[]> findTokenEpochsSince(LocalDateTime since);
+
+    /**
+     * One write invalidates every access token of the user issued before validAfter
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.tokensValidAfter = :validAfter WHERE u.id = :id")
+    int updateTokensValidAfter(Long id, LocalDateTime validAfter);
+
+    /**
+     * Replace the stored hash only - used for transparent re-hashing on login
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password WHERE u.email = :email")
+    int updatePasswordByEmail(String email, String password);
+
+    // Bulk admin jobs - projections plus set-based statements, nothing is loaded as an entity
+
+    String BULK_FILTER = "(:role IS NULL OR u.role = :role) " +
+            "AND (:emailDomain IS NULL OR u.email LIKE CONCAT('%@', :emailDomain))";
+
+    /**
+     * Bulk rows by id, locked (SELECT ... FOR UPDATE) in id order until the chunk commits, so
+     * no single-user write lands between this read and the bulk statement
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT new com.syn.usermanagement.dto.UserBulkRow(u.id, u.name, u.email, u.photoUrl, u.role, u.version) " +
+            "FROM User u WHERE u.id IN :ids ORDER BY u.id")
+    List<UserBulkRow> findBulkRowsByIds(Collection<Long> ids);
+
+    /**
+     * Keyset page of bulk rows matching the filter, after the given id - locked like findBulkRowsByIds
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT new com.syn.usermanagement.dto.UserBulkRow(u.id, u.name, u.email, u.photoUrl, u.role, u.version) " +
+            "FROM User u WHERE u.id > :afterId AND " + BULK_FILTER + " ORDER BY u.id")
+    List<UserBulkRow> findBulkRowsAfter(Long afterId, User.Role role, String emailDomain, Pageable pageable);
+
+    @Query("SELECT COUNT(u) FROM User u WHERE " + BULK_FILTER)
+    long countByBulkFilter(User.Role role, String emailDomain);
+
+    @Modifying
+    @Query("DELETE FROM User u WHERE u.id IN :ids")
+    int bulkDelete(Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE User u SET u.role = :role, u.version = u.version + 1 WHERE u.id IN :ids")
+    int bulkUpdateRole(Collection<Long> ids, User.Role role);
+
+    @Modifying
+    @Query("UPDATE User u SET u.photoUrl = NULL, u.version = u.version + 1 WHERE u.id IN :ids")
+    int bulkClearPhoto(Collection<Long> ids);
+}
@@ -1,6 +1,9 @@
 package com.syn.usermanagement.security;
 
+import com.syn.usermanagement.config.ReadYourWritesTracker;
 import com.syn.usermanagement.service.TokenBlacklistService;
+import com.syn.usermanagement.service.TokenEpochService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -23,6 +26,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtUtils jwtUtils;
     private final CustomUserDetailsService userDetailsService;
     private final TokenBlacklistService tokenBlacklistService;
+    private final TokenEpochService tokenEpochService;
+    private final ReadYourWritesTracker readYourWritesTracker;
 
     @Override
     protected void doFilterInternal(
@@ -52,8 +57,19 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 return;
             }
 
+            final Claims claims = jwtUtils.extractClaims(jwt);
+
+            // ✅ Check the user's token epoch (logout everywhere / password change)
+            if (tokenEpochService.isRevoked(claims.get(JwtUtils.USER_ID_CLAIM, Long.class), JwtUtils.issuedAtMillis(claims))) {
+                logger.warn("Attempted use of a token issued before the user's token epoch");
+                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+                response.getWriter().write("{\"message\": \"Token has been invalidated. Please login again.\"}");
+                return;
+            }
+
             // Extract username from token
-            final String userEmail = jwtUtils.extractUsername(jwt);
+            final String userEmail = claims.getSubject();
+            readYourWritesTracker.setSubject(userEmail);
 
             // If email exists and user is not already authenticated
             if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
@@ -61,8 +77,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 // Load user details
                 UserDetails userDetails = userDetailsService.loadUserByUsername(userEmail);
 
-                // Validate token
-                if (jwtUtils.validateToken(jwt, userDetails)) {
+                // Signature and expiry were verified when the claims were parsed
+                if (userEmail.equals(userDetails.getUsername())) {
 
                     // Create authentication token
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
@@ -82,6 +98,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             logger.error("Cannot set user authentication: " + e.getMessage());
         }
 
-        filterChain.doFilter(request, response);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            readYourWritesTracker.clearSubject();
+        }
     }
 }
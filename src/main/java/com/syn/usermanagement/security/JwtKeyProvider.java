@@ -0,0 +1,156 @@
+package com.syn.usermanagement.security;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.Keys;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Signing and verification keys for JWTs, parsed once at startup.
+ *
+ * Acts as the parser's key locator: HS256 tokens verify with the shared secret,
+ * ES256 tokens with the public key named by their kid header. Public keys are
+ * cached per kid and published as a JWK set. A key with an activate-at is
+ * published right away and takes over signing at that instant (two-phase
+ * rotation, see {@link JwtSigningProperties}).
+ */
+@Component
+public class JwtKeyProvider extends LocatorAdapter<Key> {
+
+    private static final Logger logger = LoggerFactory.getLogger(JwtKeyProvider.class);
+
+    private final boolean asymmetric;
+    private final ActiveKey activeKey;
+    // Latest activation first
+    private final List<ScheduledKey> scheduledKeys = new ArrayList<>();
+    private final Map<String, PublicKey> publicKeys = new LinkedHashMap<>();
+    private final Map<String, Object> jwks;
+
+    public JwtKeyProvider(@Value("${jwt.secret}") String jwtSecret, JwtSigningProperties properties) {
+        this.asymmetric = "ES256".equalsIgnoreCase(properties.getAlgorithm());
+        if (!asymmetric) {
+            this.activeKey = new ActiveKey(null, Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret)));
+            this.jwks = Map.of("keys", List.of());
+            return;
+        }
+
+        PrivateKey activePrivateKey = null;
+        String activeKid = properties.getActiveKid();
+        try {
+            KeyFactory keyFactory = KeyFactory.getInstance("EC");
+            for (JwtSigningProperties.SigningKey key : properties.getKeys()) {
+                publicKeys.put(key.getKid(), keyFactory.generatePublic(new X509EncodedKeySpec(decode(key.getPublicKey()))));
+                if (key.getKid().equals(activeKid) && key.getPrivateKey() != null) {
+                    activePrivateKey = keyFactory.generatePrivate(new PKCS8EncodedKeySpec(decode(key.getPrivateKey())));
+                }
+                if (key.getActivateAt() != null && !key.getKid().equals(activeKid)) {
+                    if (key.getPrivateKey() == null) {
+                        throw new IllegalStateException("jwt.signing key " + key.getKid() + " has an activate-at but no private-key");
+                    }
+                    PrivateKey privateKey = keyFactory.generatePrivate(new PKCS8EncodedKeySpec(decode(key.getPrivateKey())));
+                    scheduledKeys.add(new ScheduledKey(key.getActivateAt(), new ActiveKey(key.getKid(), privateKey)));
+                }
+            }
+            scheduledKeys.sort(Comparator.comparing(ScheduledKey::activateAt).reversed());
+
+            if (properties.getKeys().isEmpty()) {
+                // Dev only: tokens from another node or a previous run won't verify
+                KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+                generator.initialize(new ECGenParameterSpec("secp256r1"));
+                KeyPair keyPair = generator.generateKeyPair();
+                activeKid = "ephemeral-" + UUID.randomUUID();
+                activePrivateKey = keyPair.getPrivate();
+                publicKeys.put(activeKid, keyPair.getPublic());
+                logger.warn("No jwt.signing.keys configured - generated an ephemeral ES256 key, kid: {}", activeKid);
+            }
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Invalid jwt.signing key material", e);
+        }
+
+        if (activePrivateKey == null) {
+            throw new IllegalStateException("jwt.signing.active-kid must name a key with a private-key");
+        }
+        this.activeKey = new ActiveKey(activeKid, activePrivateKey);
+        this.jwks = Map.of("keys", publicKeys.entrySet().stream()
+                .map(entry -> Jwks.builder().key(entry.getValue()).id(entry.getKey()).publicKeyUse("sig").build())
+                .toList());
+
+        logger.info("JWT signing with ES256 - Active kid: {} - Published kids: {}", activeKid, publicKeys.keySet());
+        scheduledKeys.forEach(scheduled ->
+                logger.info("JWT signing key scheduled - Kid: {} - Activates at: {}", scheduled.key().kid(), scheduled.activateAt()));
+    }
+
+    /**
+     * Key new tokens are signed with: the latest scheduled key whose activate-at
+     * has passed, otherwise active-kid
+     */
+    public ActiveKey getActiveKey() {
+        if (!scheduledKeys.isEmpty()) {
+            Instant now = Instant.now();
+            for (ScheduledKey scheduled : scheduledKeys) {
+                if (!now.isBefore(scheduled.activateAt())) {
+                    return scheduled.key();
+                }
+            }
+        }
+        return activeKey;
+    }
+
+    /**
+     * Public JWK set - empty in HS256 mode, where nothing can be verified without the secret
+     */
+    public Map<String, Object> getJwks() {
+        return jwks;
+    }
+
+    @Override
+    protected Key locate(JwsHeader header) {
+        if (!asymmetric) {
+            return activeKey.key();
+        }
+        PublicKey key = header.getKeyId() == null ? null : publicKeys.get(header.getKeyId());
+        if (key == null) {
+            throw new JwtException("Unknown signing key: " + header.getKeyId());
+        }
+        return key;
+    }
+
+    /**
+     * Signing key and the kid header for tokens signed with it (null in HS256 mode)
+     */
+    public record ActiveKey(String kid, Key key) {
+    }
+
+    private record ScheduledKey(Instant activateAt, ActiveKey key) {
+    }
+
+    private static byte[] decode(String keyMaterial) {
+        String base64 = keyMaterial.replaceAll("-----[A-Z ]+-----", "").replaceAll("\\s", "");
+        return Base64.getDecoder().decode(base64);
+    }
+}
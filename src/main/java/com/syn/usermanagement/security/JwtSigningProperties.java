@@ -0,0 +1,53 @@
+package com.syn.usermanagement.security;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JWT signing mode and keys (jwt.signing.*).
+ *
+ * HS256 signs with the shared jwt.secret. ES256 signs with the active key pair
+ * and publishes every listed public key as JWKS, so other services verify
+ * tokens locally.
+ *
+ * Rotation is two-phase, because verifiers cache the JWKS for max-age: a token
+ * signed with a key they haven't fetched yet fails until their cache expires.
+ * 1. Publish: add the new key without making it active. Either deploy it and
+ *    switch active-kid in a later deploy, or give it an activate-at at least
+ *    jwt.jwks.max-age-seconds plus the rollout time ahead - every node then
+ *    switches to it on its own at that instant.
+ * 2. Retire: point active-kid at the new key and drop its activate-at, keep the
+ *    old public key listed (private key removed) until its last token has
+ *    expired plus max-age, then remove it.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "jwt.signing")
+public class JwtSigningProperties {
+
+    private String algorithm = "HS256";
+
+    private String activeKid;
+
+    private List<SigningKey> keys = new ArrayList<>();
+
+    @Data
+    public static class SigningKey {
+
+        private String kid;
+
+        // X.509 SubjectPublicKeyInfo, Base64 or PEM
+        private String publicKey;
+
+        // PKCS#8, Base64 or PEM - only needed on the active or a scheduled key
+        private String privateKey;
+
+        // Sign with this key from this instant on, instead of active-kid (published right away)
+        private Instant activateAt;
+    }
+}
@@ -1,13 +1,10 @@
 package com.syn.usermanagement.security;
 
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -16,12 +13,22 @@ import java.util.function.Function;
 @Component
 public class JwtUtils {
 
-    @Value("${jwt.secret}")
-    private String jwtSecret;
+    public static final String USER_ID_CLAIM = "uid";
+    // iat only has second precision - the token epoch needs the exact issue time
+    public static final String ISSUED_AT_MS_CLAIM = "iat_ms";
+
+    private final JwtKeyProvider keyProvider;
+    private final JwtParser parser;
 
     @Value("${jwt.expiration}")
     private long jwtExpiration;
 
+    public JwtUtils(JwtKeyProvider keyProvider) {
+        this.keyProvider = keyProvider;
+        // Thread-safe and reusable - keys are resolved per token through the kid header
+        this.parser = Jwts.parser().keyLocator(keyProvider).build();
+    }
+
     /**
      * Generate JWT token for user
      */
@@ -30,6 +37,15 @@ public class JwtUtils {
         return createToken(claims, userDetails.getUsername());
     }
 
+    /**
+     * Generate JWT token carrying the user id, checked against the user's token epoch
+     */
+    public String generateToken(Long userId, UserDetails userDetails) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(USER_ID_CLAIM, userId);
+        return createToken(claims, userDetails.getUsername());
+    }
+
     /**
      * Generate token with extra claims
      */
@@ -38,15 +54,26 @@ public class JwtUtils {
     }
 
     private String createToken(Map<String, Object> claims, String subject) {
+        long now = System.currentTimeMillis();
+        JwtKeyProvider.ActiveKey signingKey = keyProvider.getActiveKey();
         return Jwts.builder()
+                .header().keyId(signingKey.kid()).and()
                 .claims(claims)
+                .claim(ISSUED_AT_MS_CLAIM, now)
                 .subject(subject)
-                .issuedAt(new Date(System.currentTimeMillis()))
-                .expiration(new Date(System.currentTimeMillis() + jwtExpiration))
-                .signWith(getSigningKey())
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + jwtExpiration))
+                .signWith(signingKey.key())
                 .compact();
     }
 
+    /**
+     * Access token lifetime in milliseconds
+     */
+    public long getExpirationMs() {
+        return jwtExpiration;
+    }
+
     /**
      * Extract username from token
      */
@@ -61,6 +88,21 @@ public class JwtUtils {
         return extractClaim(token, Claims::getExpiration);
     }
 
+    /**
+     * Extract all claims at once - parses and verifies the token a single time
+     */
+    public Claims extractClaims(String token) {
+        return extractAllClaims(token);
+    }
+
+    /**
+     * Issue time in milliseconds, falling back to the second-precision iat
+     */
+    public static long issuedAtMillis(Claims claims) {
+        Long issuedAtMs = claims.get(ISSUED_AT_MS_CLAIM, Long.class);
+        return issuedAtMs != null ? issuedAtMs : claims.getIssuedAt().getTime();
+    }
+
     /**
      * Extract a specific claim from token
      */
@@ -70,11 +112,7 @@ public class JwtUtils {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
     }
 
     /**
@@ -91,12 +129,4 @@ public class JwtUtils {
         final String username = extractUsername(token);
         return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
     }
-
-    /**
-     * Get signing key from secret
-     */
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(jwtSecret);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
 }
@@ -0,0 +1,109 @@
+package com.syn.usermanagement.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Map;
+
+/**
+ * Password encoder setup: algorithm-prefixed hashes ({bcrypt}$2a$...) with one
+ * BCrypt work factor for the whole fleet.
+ *
+ * The strength is pinned in configuration, not derived per node: hashes are
+ * re-encoded on login whenever they are weaker than the node's strength, so
+ * per-node calibration would ratchet every hash up to the fastest node's
+ * strength and make logins on the slowest nodes several times slower. Size
+ * it on the slowest instance class by running {@link #main} there.
+ */
+public final class PasswordHashing {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHashing.class);
+
+    public static final String BCRYPT = "bcrypt";
+
+    // Cheap enough to time quickly, expensive enough to not be dominated by noise
+    private static final int PROBE_STRENGTH = 6;
+    private static final int PROBE_ROUNDS = 5;
+
+    private PasswordHashing() {
+    }
+
+    /**
+     * Prints the strength to pin as security.password.bcrypt-strength for this host.
+     * Run it on the slowest instance class, e.g. in the fast-start image:
+     * java -cp "BOOT-INF/lib/*" com.syn.usermanagement.security.PasswordHashing [target-ms] [min] [max]
+     */
+    public static void main(String[] args) {
+        long targetMs = args.length > 0 ? Long.parseLong(args[0]) : 100;
+        int minStrength = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        int maxStrength = args.length > 2 ? Integer.parseInt(args[2]) : 14;
+        int strength = calibrateBcryptStrength(targetMs, minStrength, maxStrength);
+        System.out.println("security.password.bcrypt-strength=" + strength);
+        System.out.println("security.password.target-ms=" + targetMs);
+    }
+
+    /**
+     * Delegating encoder that writes {bcrypt} hashes at the given strength. Hashes
+     * stored before prefixes existed are bare BCrypt and still match; they and hashes
+     * weaker than bcryptStrength report upgradeEncoding() so the next successful login
+     * rewrites them. Stronger hashes are left alone - upgrades only go up to bcryptStrength.
+     */
+    public static PasswordEncoder encoder(int bcryptStrength) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(BCRYPT, Map.of(BCRYPT, bcrypt));
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
+    }
+
+    /**
+     * Highest BCrypt strength whose hash time stays within targetMs on this host,
+     * but never below minStrength or above maxStrength. Each strength step doubles the cost,
+     * so one probe at a low strength is enough to extrapolate. Used by {@link #main}
+     * to size the fleet-wide strength.
+     */
+    public static int calibrateBcryptStrength(long targetMs, int minStrength, int maxStrength) {
+        double probeMs = probeMs();
+
+        int strength = minStrength;
+        while (strength < maxStrength && estimateMs(probeMs, strength + 1) <= targetMs) {
+            strength++;
+        }
+
+        logger.info("BCrypt calibrated - Strength: {} - Estimated hash time: {} ms - Target: {} ms",
+                strength, Math.round(estimateMs(probeMs, strength)), targetMs);
+        return strength;
+    }
+
+    /**
+     * Log what the fleet-wide strength costs on this host, warning when it is over
+     * targetMs - the strength to pin is then lower, it is never adjusted here
+     */
+    public static void reportBcryptCost(int strength, long targetMs) {
+        double estimatedMs = estimateMs(probeMs(), strength);
+        if (estimatedMs > targetMs) {
+            logger.warn("BCrypt strength {} takes about {} ms on this host, over the {} ms target - "
+                    + "size security.password.bcrypt-strength for the slowest instance class", strength, Math.round(estimatedMs), targetMs);
+        } else {
+            logger.info("BCrypt strength: {} - Estimated hash time on this host: {} ms - Target: {} ms",
+                    strength, Math.round(estimatedMs), targetMs);
+        }
+    }
+
+    private static double probeMs() {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(PROBE_STRENGTH);
+        probe.encode("warm-up");
+
+        long started = System.nanoTime();
+        for (int i = 0; i < PROBE_ROUNDS; i++) {
+            probe.encode("calibration-" + i);
+        }
+        return (System.nanoTime() - started) / 1_000_000.0 / PROBE_ROUNDS;
+    }
+
+    private static double estimateMs(double probeMs, int strength) {
+        return probeMs * Math.pow(2, strength - PROBE_STRENGTH);
+    }
+}
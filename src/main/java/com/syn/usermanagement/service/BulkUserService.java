@@ -0,0 +1,264 @@
+package com.syn.usermanagement.service;
+
+import com.syn.usermanagement.dto.BulkJobStatus;
+import com.syn.usermanagement.dto.BulkRoleChangeRequest;
+import com.syn.usermanagement.dto.BulkUserRequest;
+import com.syn.usermanagement.dto.UserBulkRow;
+import com.syn.usermanagement.entity.User;
+import com.syn.usermanagement.exception.ResourceNotFoundException;
+import com.syn.usermanagement.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * Admin bulk operations on users (delete, role change, photo clearing).
+ *
+ * A job runs in the background in chunks of admin.bulk.chunk-size users. Each
+ * chunk is one short transaction: a locking projection query for the affected
+ * rows, one set-based UPDATE/DELETE and the outbox events built from the rows as
+ * the statement left them, so no entity is ever loaded
+ * and transaction size stays bounded however many users match. Photos are
+ * removed from S3 after the chunk commits; URLs that fail stay on the job for
+ * a later cleanup. Jobs run one at a time.
+ */
+@Service
+@RequiredArgsConstructor
+public class BulkUserService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkUserService.class);
+
+    private static final int MAX_FAILED_PHOTO_URLS = 1000;
+    private static final Duration FINISHED_JOB_RETENTION = Duration.ofHours(1);
+
+    public enum State {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        CANCELLED,
+        FAILED
+    }
+
+    private final UserRepository userRepository;
+    private final UserEventService userEventService;
+    private final S3Service s3Service;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "bulk-user-jobs");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Value("${admin.bulk.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${admin.bulk.chunk-pause-ms:20}")
+    private long chunkPauseMs;
+
+    public BulkJobStatus submitDelete(BulkUserRequest request) {
+        return submit("DELETE", request, rows -> {
+            List<Long> ids = ids(rows);
+            int affected = userRepository.bulkDelete(ids);
+            userEventService.recordAll(UserEventService.Type.DELETED, rows);
+            return new ChunkResult(affected, photoUrls(rows));
+        });
+    }
+
+    public BulkJobStatus submitRoleChange(BulkRoleChangeRequest request) {
+        User.Role newRole = request.getNewRole();
+        return submit("CHANGE_ROLE_" + newRole, request, rows -> {
+            List<Long> changed = rows.stream().filter(row -> row.role() != newRole).map(UserBulkRow::id).toList();
+            if (changed.isEmpty()) {
+                return new ChunkResult(0, List.of());
+            }
+            int affected = userRepository.bulkUpdateRole(changed, newRole);
+            // Events carry the rows as the UPDATE left them, real versions included
+            userEventService.recordAll(UserEventService.Type.UPDATED, userRepository.findBulkRowsByIds(changed));
+            return new ChunkResult(affected, List.of());
+        });
+    }
+
+    public BulkJobStatus submitClearPhotos(BulkUserRequest request) {
+        return submit("CLEAR_PHOTOS", request, rows -> {
+            List<UserBulkRow> withPhoto = rows.stream().filter(row -> row.photoUrl() != null).toList();
+            if (withPhoto.isEmpty()) {
+                return new ChunkResult(0, List.of());
+            }
+            int affected = userRepository.bulkClearPhoto(ids(withPhoto));
+            userEventService.recordAll(UserEventService.Type.PHOTO_DELETED, userRepository.findBulkRowsByIds(ids(withPhoto)));
+            return new ChunkResult(affected, photoUrls(withPhoto));
+        });
+    }
+
+    public BulkJobStatus getJob(String jobId) {
+        Job job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("Bulk job not found: " + jobId);
+        }
+        return job.status();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Chunks are transactional - an interrupted job stops between chunks
+        worker.shutdownNow();
+    }
+
+    private BulkJobStatus submit(String operation, BulkUserRequest request, Function<List<UserBulkRow>, ChunkResult> chunkAction) {
+        jobs.values().removeIf(Job::expired);
+
+        Job job = new Job(UUID.randomUUID().toString(), operation);
+        jobs.put(job.id, job);
+        logger.info("BULK_JOB_SUBMITTED | JobId: {} | Operation: {} | Ids: {} | Role: {} | EmailDomain: {}",
+                job.id, operation, request.getIds() == null ? 0 : request.getIds().size(),
+                request.getRole(), request.getEmailDomain());
+
+        worker.submit(() -> run(job, request, chunkAction));
+        return job.status();
+    }
+
+    private void run(Job job, BulkUserRequest request, Function<List<UserBulkRow>, ChunkResult> chunkAction) {
+        job.state = State.RUNNING;
+        try {
+            if (request.getIds() != null && !request.getIds().isEmpty()) {
+                List<Long> ids = request.getIds().stream().distinct().sorted().toList();
+                job.matched = ids.size();
+                for (int from = 0; from < ids.size() && !Thread.currentThread().isInterrupted(); from += chunkSize) {
+                    List<Long> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+                    runChunk(job, () -> userRepository.findBulkRowsByIds(chunk), chunkAction);
+                    job.processed += chunk.size();
+                    pause();
+                }
+            } else {
+                job.matched = userRepository.countByBulkFilter(request.getRole(), request.getEmailDomain());
+                long afterId = 0;
+                while (!Thread.currentThread().isInterrupted()) {
+                    long after = afterId;
+                    List<UserBulkRow> rows = runChunk(job, () -> userRepository.findBulkRowsAfter(
+                            after, request.getRole(), request.getEmailDomain(), PageRequest.of(0, chunkSize)), chunkAction);
+                    if (rows.isEmpty()) {
+                        break;
+                    }
+                    afterId = rows.get(rows.size() - 1).id();
+                    job.processed += rows.size();
+                    pause();
+                }
+            }
+            job.state = Thread.currentThread().isInterrupted() ? State.CANCELLED : State.COMPLETED;
+            logger.info("BULK_JOB_FINISHED | JobId: {} | State: {} | Processed: {} | Affected: {} | PhotosDeleted: {} | PhotoFailures: {}",
+                    job.id, job.state, job.processed, job.affected, job.photosDeleted, job.failedPhotoUrls.size());
+        } catch (Exception e) {
+            job.state = State.FAILED;
+            job.error = e.getMessage();
+            logger.error("BULK_JOB_FAILED | JobId: {} | Processed: {} | Error: {}", job.id, job.processed, e.getMessage(), e);
+        } finally {
+            job.finishedAt = LocalDateTime.now();
+        }
+    }
+
+    /**
+     * One chunk in its own transaction, then the photo cleanup once it has committed
+     */
+    private List<UserBulkRow> runChunk(Job job, RowSource rowSource, Function<List<UserBulkRow>, ChunkResult> chunkAction) {
+        List<UserBulkRow> rows = new ArrayList<>();
+        ChunkResult result = transactionTemplate.execute(status -> {
+            rows.addAll(rowSource.fetch());
+            return rows.isEmpty() ? new ChunkResult(0, List.of()) : chunkAction.apply(rows);
+        });
+
+        job.affected += result.affected();
+        for (String photoUrl : result.photoUrls()) {
+            try {
+                s3Service.deleteFile(photoUrl);
+                job.photosDeleted++;
+            } catch (Exception e) {
+                logger.warn("BULK_PHOTO_DELETE_FAILED | JobId: {} | PhotoUrl: {} | Error: {}", job.id, photoUrl, e.getMessage());
+                if (job.failedPhotoUrls.size() < MAX_FAILED_PHOTO_URLS) {
+                    job.failedPhotoUrls.add(photoUrl);
+                }
+            }
+        }
+        return rows;
+    }
+
+    private void pause() {
+        if (chunkPauseMs <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(chunkPauseMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static List<Long> ids(List<UserBulkRow> rows) {
+        return rows.stream().map(UserBulkRow::id).toList();
+    }
+
+    private static List<String> photoUrls(List<UserBulkRow> rows) {
+        return rows.stream().map(UserBulkRow::photoUrl).filter(url -> url != null && !url.isEmpty()).toList();
+    }
+
+    @FunctionalInterface
+    private interface RowSource {
+        List<UserBulkRow> fetch();
+    }
+
+    private record ChunkResult(int affected, List<String> photoUrls) {
+    }
+
+    /**
+     * Written by the worker thread only (so the volatile increments are safe), read by request threads
+     */
+    private static final class Job {
+        private final String id;
+        private final String operation;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final List<String> failedPhotoUrls = Collections.synchronizedList(new ArrayList<>());
+        private volatile State state = State.QUEUED;
+        private volatile long matched;
+        private volatile long processed;
+        private volatile long affected;
+        private volatile int photosDeleted;
+        private volatile LocalDateTime finishedAt;
+        private volatile String error;
+
+        private Job(String id, String operation) {
+            this.id = id;
+            this.operation = operation;
+        }
+
+        private boolean expired() {
+            return finishedAt != null && finishedAt.isBefore(LocalDateTime.now().minus(FINISHED_JOB_RETENTION));
+        }
+
+        private BulkJobStatus status() {
+            List<String> failed;
+            synchronized (failedPhotoUrls) {
+                failed = List.copyOf(failedPhotoUrls);
+            }
+            return new BulkJobStatus(id, operation, state.name(), matched, processed, affected, photosDeleted,
+                    failed, startedAt, finishedAt, error);
+        }
+    }
+}
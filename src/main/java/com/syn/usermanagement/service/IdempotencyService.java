@@ -0,0 +1,268 @@
+package com.syn.usermanagement.service;
+
+import com.syn.usermanagement.entity.IdempotencyRecord;
+import com.syn.usermanagement.exception.IdempotencyKeyException;
+import com.syn.usermanagement.repository.IdempotencyRecordRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Idempotency-Key bookkeeping: the first request with a key runs, duplicates
+ * get its stored response replayed without running again.
+ *
+ * Keys live in a bounded in-memory map for idempotency.ttl-ms, which only
+ * has to cover the window a client keeps retrying in. When the map is full a
+ * new key evicts the oldest completed ones; if every entry is still running
+ * the request is turned away with 503 instead of running without dedup. A
+ * duplicate that arrives while the first request is still running waits for
+ * it on the entry's future. With idempotency.store=database a key is also claimed in the
+ * idempotency_keys table, so a retry landing on another node waits for (polls)
+ * the original instead of running in parallel.
+ */
+@Service
+@RequiredArgsConstructor
+public class IdempotencyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyService.class);
+
+    private static final long DATABASE_POLL_MS = 50;
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /** Entries in claim order, oldest first; stale ones are skipped when evicting */
+    private final Queue<Entry> claimOrder = new ConcurrentLinkedQueue<>();
+
+    @Value("${idempotency.ttl-ms:3600000}")
+    private long ttlMs;
+
+    @Value("${idempotency.max-entries:10000}")
+    private int maxEntries;
+
+    @Value("${idempotency.wait-timeout-ms:10000}")
+    private long waitTimeoutMs;
+
+    @Value("${idempotency.store:memory}")
+    private String store;
+
+    /**
+     * Response kept for replay
+     */
+    public record StoredResponse(int status, String contentType, byte[] body) {
+    }
+
+    /**
+     * Claim a key. Returns null when the caller owns the key and must run the
+     * request, then call {@link #complete} or {@link #release}; otherwise the
+     * stored response of the first request.
+     */
+    public StoredResponse begin(String keyHash, String requestHash) {
+        long deadline = System.currentTimeMillis() + waitTimeoutMs;
+        while (true) {
+            long now = System.currentTimeMillis();
+            Entry existing = entries.get(keyHash);
+
+            if (existing == null || existing.expiresAt() <= now) {
+                if (existing == null && entries.size() >= maxEntries && !evictOldest()) {
+                    // Full of requests still running: still dedupe across nodes, just without the local entry
+                    logger.warn("IDEMPOTENCY_STORE_FULL | Entries: {}", entries.size());
+                    if (isDatabaseStore()) {
+                        return claimInDatabase(keyHash, requestHash, deadline);
+                    }
+                    throw new IdempotencyKeyException(HttpStatus.SERVICE_UNAVAILABLE,
+                            "Too many requests with an Idempotency-Key in progress, retry later");
+                }
+                Entry fresh = new Entry(keyHash, requestHash, new CompletableFuture<>(), now + ttlMs);
+                boolean claimed = existing == null
+                        ? entries.putIfAbsent(keyHash, fresh) == null
+                        : entries.replace(keyHash, existing, fresh);
+                if (!claimed) {
+                    continue;
+                }
+                claimOrder.add(fresh);
+                if (!isDatabaseStore()) {
+                    return null;
+                }
+                StoredResponse stored = claimInDatabase(keyHash, requestHash, deadline);
+                if (stored != null) {
+                    fresh.response().complete(stored);
+                }
+                return stored;
+            }
+
+            checkSamePayload(existing.requestHash(), requestHash);
+            StoredResponse stored = await(existing.response(), deadline);
+            if (stored != null) {
+                logger.debug("IDEMPOTENCY_REPLAY | Status: {}", stored.status());
+                return stored;
+            }
+            // The first request failed and released the key - claim it again
+        }
+    }
+
+    /**
+     * Store the response of a request that owns its key
+     */
+    public void complete(String keyHash, StoredResponse response) {
+        if (isDatabaseStore()) {
+            idempotencyRecordRepository.complete(keyHash, response.status(), response.contentType(), response.body());
+        }
+        Entry entry = entries.get(keyHash);
+        if (entry != null) {
+            entry.response().complete(response);
+        }
+    }
+
+    /**
+     * Give the key up without a response (server error) - the next retry runs again
+     */
+    public void release(String keyHash) {
+        if (isDatabaseStore()) {
+            idempotencyRecordRepository.release(keyHash);
+        }
+        Entry entry = entries.remove(keyHash);
+        if (entry != null) {
+            entry.response().complete(null);
+        }
+    }
+
+    /**
+     * Drop expired keys (runs every 10 minutes)
+     */
+    @Scheduled(fixedRate = 600000)
+    public void cleanupExpiredKeys() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.expiresAt() <= now && entry.response().isDone());
+        claimOrder.removeIf(entry -> entries.get(entry.keyHash()) != entry);
+        if (isDatabaseStore()) {
+            int deleted = idempotencyRecordRepository.deleteExpired(LocalDateTime.now());
+            logger.info("Idempotency key cleanup completed - Deleted: {}", deleted);
+        }
+    }
+
+    public static String sha256Hex(byte[] input) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(input));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Drop the oldest completed entries until there is room for one more.
+     * Entries still running are kept (duplicates are waiting on them) and go
+     * back to the end of the queue. Returns false when none could be dropped.
+     */
+    private boolean evictOldest() {
+        int evicted = 0;
+        int inFlight = 0;
+        for (int scanned = claimOrder.size(); scanned > 0 && entries.size() >= maxEntries; scanned--) {
+            Entry oldest = claimOrder.poll();
+            if (oldest == null) {
+                break;
+            }
+            if (entries.get(oldest.keyHash()) != oldest) {
+                continue;
+            }
+            if (!oldest.response().isDone()) {
+                claimOrder.add(oldest);
+                inFlight++;
+            } else if (entries.remove(oldest.keyHash(), oldest)) {
+                evicted++;
+            }
+        }
+        if (evicted > 0) {
+            logger.debug("IDEMPOTENCY_EVICTED | Entries: {} | In flight: {}", evicted, inFlight);
+        }
+        return entries.size() < maxEntries;
+    }
+
+    private StoredResponse claimInDatabase(String keyHash, String requestHash, long deadline) {
+        while (true) {
+            LocalDateTime now = LocalDateTime.now();
+            try {
+                idempotencyRecordRepository.insertClaim(keyHash, requestHash, now, now.plusNanos(ttlMs * 1_000_000));
+                return null;
+            } catch (DataIntegrityViolationException e) {
+                // Held by a request on another node (or an earlier one on this node)
+            }
+
+            Optional<IdempotencyRecord> record = idempotencyRecordRepository.findById(keyHash);
+            if (record.isEmpty()) {
+                continue;
+            }
+            if (record.get().getExpiresAt().isBefore(now)) {
+                idempotencyRecordRepository.release(keyHash);
+                continue;
+            }
+            checkSamePayload(record.get().getRequestHash(), requestHash);
+            if (record.get().getStatus() != null) {
+                logger.debug("IDEMPOTENCY_REPLAY | Status: {} | Source: database", record.get().getStatus());
+                return new StoredResponse(record.get().getStatus(), record.get().getContentType(), record.get().getBody());
+            }
+            if (System.currentTimeMillis() >= deadline) {
+                throw inProgress();
+            }
+            try {
+                Thread.sleep(DATABASE_POLL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw inProgress();
+            }
+        }
+    }
+
+    private static StoredResponse await(CompletableFuture<StoredResponse> response, long deadline) {
+        try {
+            return response.get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw inProgress();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw inProgress();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static void checkSamePayload(String storedHash, String requestHash) {
+        if (!storedHash.equals(requestHash)) {
+            logger.warn("IDEMPOTENCY_KEY_REUSED | Reason: Different payload");
+            throw new IdempotencyKeyException(HttpStatus.UNPROCESSABLE_ENTITY,
+                    "Idempotency-Key was already used with a different request body");
+        }
+    }
+
+    private static IdempotencyKeyException inProgress() {
+        return new IdempotencyKeyException(HttpStatus.CONFLICT,
+                "A request with this Idempotency-Key is still in progress, retry later");
+    }
+
+    private boolean isDatabaseStore() {
+        return "database".equalsIgnoreCase(store);
+    }
+
+    private record Entry(String keyHash, String requestHash, CompletableFuture<StoredResponse> response, long expiresAt) {
+    }
+}
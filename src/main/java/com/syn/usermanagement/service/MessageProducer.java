@@ -1,31 +1,60 @@
 package com.syn.usermanagement.service;
 
+import com.syn.usermanagement.config.RabbitMQConfig;
+import com.syn.usermanagement.entity.OutboxEvent;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
 @Service
 public class MessageProducer {
 
-//    private final RabbitTemplate rabbitTemplate;
-//
-//    public MessageProducer(RabbitTemplate rabbitTemplate) {
-//        this.rabbitTemplate = rabbitTemplate;
-//    }
-//
-//    public void sendMessage(String message, String routingKey) {
-//        rabbitTemplate.convertAndSend(
-//                RabbitMQConfig.EXCHANGE_NAME,
-//                routingKey,
-//                message
-//        );
-//        System.out.println("Message sent: " + message + " with key: " + routingKey);
-//    }
-//
-//    // Send object with routing key
-//    public void sendObject(Object object, String routingKey) {
-//        rabbitTemplate.convertAndSend(
-//                RabbitMQConfig.EXCHANGE_NAME,
-//                routingKey,
-//                object
-//        );
-//    }
+    private final RabbitTemplate rabbitTemplate;
+
+    @Value("${outbox.relay.confirm-timeout-ms:5000}")
+    private long confirmTimeoutMs;
+
+    public MessageProducer(RabbitTemplate rabbitTemplate) {
+        this.rabbitTemplate = rabbitTemplate;
+    }
+
+    /**
+     * Publish a batch of outbox events on one channel and wait for publisher confirms.
+     *
+     * Throws if any message is nacked or the confirms time out, so the caller
+     * can keep the whole batch for a retry.
+     */
+    public void publishConfirmed(List<OutboxEvent> events) {
+        rabbitTemplate.invoke(operations -> {
+            for (OutboxEvent event : events) {
+                operations.send(RabbitMQConfig.EXCHANGE_NAME, routingKey(event), toMessage(event));
+            }
+            operations.waitForConfirmsOrDie(confirmTimeoutMs);
+            return null;
+        });
+    }
+
+    /**
+     * Routing key per event type, e.g. user.created / user.photo_updated
+     */
+    public static String routingKey(OutboxEvent event) {
+        return RabbitMQConfig.ROUTING_KEY_PREFIX + event.getEventType().toLowerCase();
+    }
+
+    private Message toMessage(OutboxEvent event) {
+        return MessageBuilder.withBody(event.getPayload().getBytes(StandardCharsets.UTF_8))
+                .setContentType(MessageProperties.CONTENT_TYPE_JSON)
+                .setContentEncoding(StandardCharsets.UTF_8.name())
+                .setMessageId(String.valueOf(event.getId()))
+                .setHeader("x-user-id", event.getAggregateId())
+                .setDeliveryMode(MessageDeliveryMode.PERSISTENT)
+                .build();
+    }
 }
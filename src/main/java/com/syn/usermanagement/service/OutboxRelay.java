@@ -0,0 +1,157 @@
+package com.syn.usermanagement.service;
+
+import com.syn.usermanagement.entity.OutboxEvent;
+import com.syn.usermanagement.repository.OutboxEventRepository;
+import com.syn.usermanagement.service.RabbitMQMonitoring.PublishMode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Outbox Relay - publishes pending outbox events to RabbitMQ in batches.
+ *
+ * Events are read in id order and sent on a single channel, so they reach the
+ * exchange in commit order for each user. Rows are deleted only after the broker
+ * confirmed the whole batch; a failed or timed out batch stays in the table and
+ * is retried on the next run (at-least-once delivery, consumers dedupe on messageId).
+ *
+ * The pace follows {@link RabbitMQMonitoring#getPublishMode()}: full drain when
+ * consumers keep up, one small coalesced batch per run when they fall behind, and
+ * nothing at all while paused - the outbox table is the spool in that case.
+ *
+ * Runs on every node, but only the holder of the outbox-relay lease relays;
+ * it renews the lease before each batch, and another node takes over within
+ * outbox.relay.lease-ms when it stops. One relay keeps per-user order and
+ * avoids publishing the same rows from several nodes.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    static final String RELAY_LEASE = "outbox-relay";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final MessageProducer messageProducer;
+    private final RabbitMQMonitoring rabbitMQMonitoring;
+    private final SchedulerLeaseService schedulerLeaseService;
+
+    @Value("${outbox.relay.lease-ms:15000}")
+    private long leaseMs;
+
+    @Value("${outbox.relay.batch-size:100}")
+    private int batchSize;
+
+    @Value("${outbox.relay.throttled-batch-size:20}")
+    private int throttledBatchSize;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       MessageProducer messageProducer,
+                       RabbitMQMonitoring rabbitMQMonitoring,
+                       SchedulerLeaseService schedulerLeaseService) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.messageProducer = messageProducer;
+        this.rabbitMQMonitoring = rabbitMQMonitoring;
+        this.schedulerLeaseService = schedulerLeaseService;
+    }
+
+    /**
+     * Drain the outbox (runs every second by default)
+     */
+    @Scheduled(fixedDelayString = "${outbox.relay.interval-ms:1000}")
+    public void relay() {
+        try {
+            int read;
+            do {
+                // Renewed per batch, so a node that lost the lease stops before publishing again
+                if (!schedulerLeaseService.tryAcquire(RELAY_LEASE, leaseMs)) {
+                    logger.debug("OUTBOX_RELAY_SKIPPED | Lease held by another node");
+                    return;
+                }
+                PublishMode mode = rabbitMQMonitoring.getPublishMode();
+                if (mode == PublishMode.PAUSED) {
+                    logger.debug("OUTBOX_RELAY_PAUSED | Consumers behind, events stay spooled");
+                    return;
+                }
+                read = relayBatch(mode);
+                if (mode == PublishMode.THROTTLED) {
+                    return;
+                }
+            } while (read == batchSize);
+        } catch (Exception e) {
+            logger.warn("OUTBOX_RELAY_FAILED | Reason: {} | Events stay queued for retry", e.getMessage());
+        }
+    }
+
+    /**
+     * Publish one full-size batch and delete it once confirmed
+     *
+     * @return number of outbox rows processed
+     */
+    public int relayBatch() {
+        return relayBatch(PublishMode.NORMAL);
+    }
+
+    int relayBatch(PublishMode mode) {
+        int size = mode == PublishMode.THROTTLED ? throttledBatchSize : batchSize;
+        List<OutboxEvent> batch = outboxEventRepository.findAllByOrderByIdAsc(PageRequest.of(0, size));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        List<OutboxEvent> toPublish = mode == PublishMode.THROTTLED ? coalesce(batch) : batch;
+
+        messageProducer.publishConfirmed(toPublish);
+        outboxEventRepository.deleteAllInBatch(batch);
+
+        logger.debug("OUTBOX_RELAY_BATCH | Mode: {} | Published: {} | Coalesced: {} | LastId: {}",
+                mode, toPublish.size(), batch.size() - toPublish.size(), batch.get(batch.size() - 1).getId());
+
+        return batch.size();
+    }
+
+    /**
+     * Drop update events that are superseded by a later event of the same type
+     * for the same user in this batch. Every payload carries the full user
+     * snapshot, so the last one wins. CREATED and DELETED are never dropped,
+     * and an update is kept if a CREATED/DELETED for that user follows it.
+     */
+    static List<OutboxEvent> coalesce(List<OutboxEvent> batch) {
+        Set<String> seen = new HashSet<>();
+        List<OutboxEvent> kept = new ArrayList<>(batch.size());
+
+        // Walk backwards so the latest event of each (user, type) is the one kept
+        for (int i = batch.size() - 1; i >= 0; i--) {
+            OutboxEvent event = batch.get(i);
+            String type = event.getEventType();
+
+            if (isLifecycleBoundary(type)) {
+                seen.removeIf(key -> key.startsWith(event.getAggregateId() + ":"));
+                kept.add(event);
+                continue;
+            }
+            if (seen.add(event.getAggregateId() + ":" + type)) {
+                kept.add(event);
+            }
+        }
+
+        Collections.reverse(kept);
+        return kept;
+    }
+
+    private static boolean isLifecycleBoundary(String type) {
+        return UserEventService.Type.CREATED.name().equals(type)
+                || UserEventService.Type.DELETED.name().equals(type);
+    }
+}
@@ -1,47 +1,148 @@
 package com.syn.usermanagement.service;
 
+import com.syn.usermanagement.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.amqp.rabbit.core.RabbitAdmin;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
-import java.util.Properties;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * RabbitMQ Monitoring - samples queue depth and consumer count of the queues
+ * bound to our exchange, exposes them as metrics and derives the publish mode
+ * used by {@link OutboxRelay}:
+ *
+ * - NORMAL: relay drains the outbox at full speed
+ * - THROTTLED: consumers fall behind (or none attached) - small, coalesced batches
+ * - PAUSED: queue depth over the pause watermark - nothing is published and events
+ *   stay spooled in the outbox table until depth drops below the resume watermark
+ */
 @Component
 @EnableScheduling
 public class RabbitMQMonitoring {
 
-//    private static final Logger log =
-//            LoggerFactory.getLogger(RabbitMQMonitoring.class);
-//
-//    @Autowired
-//    private RabbitAdmin rabbitAdmin;
-//
-//    @Scheduled(fixedRate = 60000)
-//    public void monitorQueues() {
-//
-//        Properties queueInfo = rabbitAdmin.getQueueProperties("creation");
-//
-//        if (queueInfo == null) {
-//            log.warn("Queue myqueue does not exist");
-//            return;
-//        }
-//
-//        Integer messageCount =
-//                (Integer) queueInfo.get(RabbitAdmin.QUEUE_MESSAGE_COUNT);
-//
-//        Integer consumerCount =
-//                (Integer) queueInfo.get(RabbitAdmin.QUEUE_CONSUMER_COUNT);
-//
-//        if (messageCount != null && messageCount > 10_000) {
-//            log.warn("Queue depth high: {}", messageCount);
-//        }
-//
-//        if (consumerCount != null && consumerCount == 0) {
-//            log.error("No consumers on queue myqueue");
-//        }
-//    }
+    private static final Logger log =
+            LoggerFactory.getLogger(RabbitMQMonitoring.class);
+
+    public enum PublishMode {
+        NORMAL,
+        THROTTLED,
+        PAUSED
+    }
+
+    private final AmqpAdmin amqpAdmin;
+    private final OutboxEventRepository outboxEventRepository;
+    private final List<String> queues;
+    private final long throttleDepth;
+    private final long pauseDepth;
+    private final long resumeDepth;
+
+    private final Map<String, AtomicLong> queueDepths = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> consumerCounts = new ConcurrentHashMap<>();
+    private final AtomicLong outboxPending = new AtomicLong();
+
+    private volatile PublishMode publishMode = PublishMode.NORMAL;
+
+    public RabbitMQMonitoring(AmqpAdmin amqpAdmin,
+                              OutboxEventRepository outboxEventRepository,
+                              MeterRegistry meterRegistry,
+                              @Value("${rabbitmq.monitor.queues:user.events}") List<String> queues,
+                              @Value("${rabbitmq.monitor.throttle-depth:5000}") long throttleDepth,
+                              @Value("${rabbitmq.monitor.pause-depth:10000}") long pauseDepth,
+                              @Value("${rabbitmq.monitor.resume-depth:1000}") long resumeDepth) {
+        this.amqpAdmin = amqpAdmin;
+        this.outboxEventRepository = outboxEventRepository;
+        this.queues = queues;
+        this.throttleDepth = throttleDepth;
+        this.pauseDepth = pauseDepth;
+        this.resumeDepth = resumeDepth;
+
+        for (String queue : queues) {
+            AtomicLong depth = queueDepths.computeIfAbsent(queue, q -> new AtomicLong(-1));
+            AtomicLong consumers = consumerCounts.computeIfAbsent(queue, q -> new AtomicLong(-1));
+            Gauge.builder("rabbitmq.queue.depth", depth, AtomicLong::get)
+                    .tag("queue", queue)
+                    .register(meterRegistry);
+            Gauge.builder("rabbitmq.queue.consumers", consumers, AtomicLong::get)
+                    .tag("queue", queue)
+                    .register(meterRegistry);
+        }
+        Gauge.builder("outbox.pending", outboxPending, AtomicLong::get)
+                .register(meterRegistry);
+        Gauge.builder("outbox.publish.mode", this, m -> m.publishMode.ordinal())
+                .description("0 = normal, 1 = throttled, 2 = paused")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${rabbitmq.monitor.interval-ms:5000}")
+    public void monitorQueues() {
+        long maxDepth = 0;
+        long minConsumers = Long.MAX_VALUE;
+
+        try {
+            outboxPending.set(outboxEventRepository.count());
+
+            for (String queue : queues) {
+                QueueInformation queueInfo = amqpAdmin.getQueueInfo(queue);
+
+                if (queueInfo == null) {
+                    log.warn("Queue {} does not exist", queue);
+                    continue;
+                }
+
+                queueDepths.get(queue).set(queueInfo.getMessageCount());
+                consumerCounts.get(queue).set(queueInfo.getConsumerCount());
+
+                maxDepth = Math.max(maxDepth, queueInfo.getMessageCount());
+                minConsumers = Math.min(minConsumers, queueInfo.getConsumerCount());
+
+                if (queueInfo.getConsumerCount() == 0) {
+                    log.error("No consumers on queue {}", queue);
+                }
+            }
+        } catch (Exception e) {
+            // Broker unreachable - keep the last mode, the relay fails fast on its own
+            log.warn("Queue monitoring failed: {}", e.getMessage());
+            return;
+        }
+
+        PublishMode next = nextMode(publishMode, maxDepth,
+                minConsumers == Long.MAX_VALUE ? -1 : minConsumers);
+        if (next != publishMode) {
+            log.warn("Publish mode {} -> {} | Queue depth: {} | Outbox pending: {}",
+                    publishMode, next, maxDepth, outboxPending.get());
+            publishMode = next;
+        }
+    }
+
+    /**
+     * Mode transition with hysteresis - once slowed down, stay slowed down until
+     * depth is back under the resume watermark
+     */
+    PublishMode nextMode(PublishMode current, long depth, long consumers) {
+        if (depth >= pauseDepth) {
+            return PublishMode.PAUSED;
+        }
+        if (depth >= throttleDepth || consumers == 0) {
+            return current == PublishMode.PAUSED ? PublishMode.PAUSED : PublishMode.THROTTLED;
+        }
+        if (depth > resumeDepth) {
+            return current;
+        }
+        return PublishMode.NORMAL;
+    }
+
+    public PublishMode getPublishMode() {
+        return publishMode;
+    }
 }
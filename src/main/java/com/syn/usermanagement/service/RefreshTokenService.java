@@ -0,0 +1,126 @@
+package com.syn.usermanagement.service;
+
+import com.syn.usermanagement.entity.RefreshToken;
+import com.syn.usermanagement.exception.InvalidRefreshTokenException;
+import com.syn.usermanagement.repository.RefreshTokenRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Opaque, rotating refresh tokens paired with short-lived access tokens.
+ *
+ * Only the SHA-256 of a token is stored. A token can be used once: refresh
+ * marks it used and hands out the next token of the same family. Presenting a
+ * used token again revokes the whole family, so a stolen token dies as soon as
+ * either party refreshes.
+ */
+@Service
+@RequiredArgsConstructor
+public class RefreshTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    @Value("${jwt.refresh-expiration:1209600000}")
+    private long refreshExpirationMs;
+
+    public record Rotation(Long userId, String refreshToken) {
+    }
+
+    /**
+     * Start a new family (login, registration)
+     */
+    @Transactional
+    public String issue(Long userId) {
+        return issue(userId, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Exchange a refresh token for the next one of its family
+     */
+    @Transactional(noRollbackFor = InvalidRefreshTokenException.class)
+    public Rotation rotate(String rawToken) {
+        RefreshToken token = refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .orElseThrow(() -> {
+                    logger.warn("REFRESH_FAILED | Reason: Unknown token");
+                    return new InvalidRefreshTokenException("Invalid refresh token");
+                });
+
+        LocalDateTime now = LocalDateTime.now();
+        if (token.getRevokedAt() != null || token.getExpiresAt().isBefore(now)) {
+            logger.warn("REFRESH_FAILED | UserId: {} | Family: {} | Reason: {}", token.getUserId(), token.getFamilyId(),
+                    token.getRevokedAt() != null ? "Revoked" : "Expired");
+            throw new InvalidRefreshTokenException("Refresh token expired or revoked");
+        }
+        if (token.getUsedAt() != null) {
+            // Either the client or an attacker holds a newer token - neither can be trusted now
+            int revoked = refreshTokenRepository.revokeFamily(token.getFamilyId(), now);
+            logger.warn("REFRESH_TOKEN_REUSE | UserId: {} | Family: {} | UsedAt: {} | Revoked: {}",
+                    token.getUserId(), token.getFamilyId(), token.getUsedAt(), revoked);
+            throw new InvalidRefreshTokenException("Refresh token reuse detected, please log in again");
+        }
+
+        token.setUsedAt(now);
+        String next = issue(token.getUserId(), token.getFamilyId());
+        logger.debug("REFRESH_ROTATED | UserId: {} | Family: {}", token.getUserId(), token.getFamilyId());
+        return new Rotation(token.getUserId(), next);
+    }
+
+    /**
+     * Revoke the family of the given token (logout). Unknown tokens are ignored.
+     */
+    @Transactional
+    public void revokeFamily(String rawToken) {
+        refreshTokenRepository.findByTokenHash(hash(rawToken)).ifPresent(token -> {
+            int revoked = refreshTokenRepository.revokeFamily(token.getFamilyId(), LocalDateTime.now());
+            logger.info("REFRESH_FAMILY_REVOKED | UserId: {} | Family: {} | Revoked: {}",
+                    token.getUserId(), token.getFamilyId(), revoked);
+        });
+    }
+
+    /**
+     * Cleanup expired refresh tokens (runs every hour)
+     */
+    @Scheduled(fixedRate = 3600000)
+    public void cleanupExpiredTokens() {
+        int deleted = refreshTokenRepository.deleteExpiredTokens(LocalDateTime.now());
+        logger.info("Refresh token cleanup completed - Deleted: {}", deleted);
+    }
+
+    private String issue(Long userId, String familyId) {
+        byte[] bytes = new byte[32];
+        secureRandom.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        LocalDateTime expiresAt = LocalDateTime.now().plus(Duration.ofMillis(refreshExpirationMs));
+        refreshTokenRepository.save(new RefreshToken(hash(rawToken), familyId, userId, expiresAt));
+        return rawToken;
+    }
+
+    private static String hash(String rawToken) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(rawToken.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
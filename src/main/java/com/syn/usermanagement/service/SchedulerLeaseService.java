@@ -0,0 +1,52 @@
+package com.syn.usermanagement.service;
+
+import com.syn.usermanagement.repository.SchedulerLeaseRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+
+/**
+ * Database leases for scheduled jobs that every node schedules but only one
+ * should run (a cleanup repeated per node is just extra lock time).
+ *
+ * The holder renews its lease on every run, so the job stays on one node; the
+ * others take over once the lease runs out, i.e. when the holder stops.
+ */
+@Service
+@RequiredArgsConstructor
+public class SchedulerLeaseService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SchedulerLeaseService.class);
+
+    // pid@hostname
+    private static final String NODE_ID = ManagementFactory.getRuntimeMXBean().getName();
+
+    private final SchedulerLeaseRepository schedulerLeaseRepository;
+
+    /**
+     * Take or renew the named lease for leaseMs; false when another node holds it
+     */
+    public boolean tryAcquire(String name, long leaseMs) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime lockedUntil = now.plusNanos(leaseMs * 1_000_000);
+        if (schedulerLeaseRepository.tryAcquire(name, NODE_ID, now, lockedUntil) == 1) {
+            return true;
+        }
+        if (schedulerLeaseRepository.existsById(name)) {
+            logger.debug("LEASE_HELD_ELSEWHERE | Lease: {}", name);
+            return false;
+        }
+        try {
+            schedulerLeaseRepository.insertLease(name, NODE_ID, lockedUntil);
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            // Another node created it at the same moment
+            return false;
+        }
+    }
+}
@@ -3,15 +3,22 @@ package com.syn.usermanagement.service;
 import com.syn.usermanagement.entity.BlacklistedToken;
 import com.syn.usermanagement.repository.BlacklistedTokenRepository;
 import com.syn.usermanagement.security.JwtUtils;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @Service
 @RequiredArgsConstructor
@@ -19,8 +26,23 @@ public class TokenBlacklistService {
 
     private static final Logger logger = LoggerFactory.getLogger(TokenBlacklistService.class);
 
+    static final String CLEANUP_LEASE = "blacklist-cleanup";
+
     private final BlacklistedTokenRepository blacklistedTokenRepository;
     private final JwtUtils jwtUtils;
+    private final TokenIntrospectionService tokenIntrospectionService;
+    private final SchedulerLeaseService schedulerLeaseService;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${jwt.blacklist-cleanup-chunk-size:1000}")
+    private int cleanupChunkSize;
+
+    @Value("${jwt.blacklist-cleanup-pause-ms:50}")
+    private long cleanupPauseMs;
+
+    @Value("${jwt.blacklist-cleanup-lease-ms:600000}")
+    private long cleanupLeaseMs;
 
     /**
      * Add token to blacklist
@@ -36,6 +58,7 @@ public class TokenBlacklistService {
             // Save to blacklist
             BlacklistedToken blacklistedToken = new BlacklistedToken(token, expiresAt);
             blacklistedTokenRepository.save(blacklistedToken);
+            tokenIntrospectionService.evict(token);
 
             logger.info("Token blacklisted successfully");
         } catch (Exception e) {
@@ -44,19 +67,68 @@ public class TokenBlacklistService {
     }
 
     /**
-     * Check if token is blacklisted
+     * Check if token is blacklisted. Read-write on purpose: a revocation check must
+     * see a logout the moment it commits, so it never goes to a lagging replica
      */
+    @Transactional
     public boolean isTokenBlacklisted(String token) {
         return blacklistedTokenRepository.existsByToken(token);
     }
 
     /**
-     * Cleanup expired tokens from blacklist (runs every hour)
+     * Cleanup expired tokens from blacklist. Access tokens only live a few
+     * minutes, so frequent cleanup keeps the table (and the per-request check) tiny.
+     *
+     * Runs on the node holding the blacklist-cleanup lease, in chunks of
+     * jwt.blacklist-cleanup-chunk-size deleted by primary key with a pause in
+     * between, so blacklistToken inserts never wait behind one long DELETE.
+     * Each chunk's ids are read on the primary in the transaction that deletes them.
      */
-    @Scheduled(fixedRate = 3600000) // 1 hour
+    @Scheduled(fixedRateString = "${jwt.blacklist-cleanup-interval-ms:300000}")
     public void cleanupExpiredTokens() {
-        logger.info("Running blacklisted token cleanup...");
-        blacklistedTokenRepository.deleteExpiredTokens(LocalDateTime.now());
-        logger.info("Blacklisted token cleanup completed");
+        if (!schedulerLeaseService.tryAcquire(CLEANUP_LEASE, cleanupLeaseMs)) {
+            logger.debug("Blacklisted token cleanup skipped - running on another node");
+            return;
+        }
+
+        long started = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        int deleted = 0;
+        int chunks = 0;
+        while (true) {
+            List<Long> ids = transactionTemplate.execute(status -> {
+                List<Long> expired = blacklistedTokenRepository.findExpiredIds(now, PageRequest.of(0, cleanupChunkSize));
+                if (!expired.isEmpty()) {
+                    blacklistedTokenRepository.deleteByIds(expired);
+                }
+                return expired;
+            });
+            if (ids.isEmpty()) {
+                break;
+            }
+            deleted += ids.size();
+            chunks++;
+            meterRegistry.counter("blacklist.cleanup.deleted").increment(ids.size());
+
+            // Renewing also tells us if we lost the lease during a very long run
+            if (ids.size() < cleanupChunkSize || !pause() || !schedulerLeaseService.tryAcquire(CLEANUP_LEASE, cleanupLeaseMs)) {
+                break;
+            }
+        }
+
+        long elapsedNanos = System.nanoTime() - started;
+        meterRegistry.timer("blacklist.cleanup.duration").record(elapsedNanos, TimeUnit.NANOSECONDS);
+        logger.info("Blacklisted token cleanup completed - Deleted: {} - Chunks: {} - Duration: {} ms",
+                deleted, chunks, TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(cleanupPauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
     }
-}
\ No newline at end of file
+}
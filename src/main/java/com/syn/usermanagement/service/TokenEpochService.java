@@ -0,0 +1,110 @@
+package com.syn.usermanagement.service;
+
+import com.syn.usermanagement.repository.RefreshTokenRepository;
+import com.syn.usermanagement.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-user token epoch: access tokens issued before users.tokens_valid_after
+ * are rejected. One write revokes every session of a user, with no per-token
+ * rows - the filter checks the token's issue time against an in-memory map that only
+ * holds users who have an epoch set.
+ *
+ * Epochs set on other nodes are picked up by an incremental reload. An epoch older
+ * than the access token lifetime can't reject anything any more (every token issued
+ * before it has expired), so only recent epochs are loaded and old ones are pruned.
+ */
+@Service
+@RequiredArgsConstructor
+public class TokenEpochService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenEpochService.class);
+
+    private final UserRepository userRepository;
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    // userId -> epoch in epoch millis; tokens issued before it are invalid
+    private final Map<Long, Long> epochs = new ConcurrentHashMap<>();
+
+    @Value("${jwt.expiration}")
+    private long accessTokenTtlMs;
+
+    private volatile LocalDateTime loadedUntil;
+
+    /**
+     * Initial load once the context is up - not during refresh, so a context
+     * started without a database (AppCDS training run) doesn't touch it
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        reload();
+        logger.info("Token epochs loaded - Users: {}", epochs.size());
+    }
+
+    /**
+     * True when the token was issued before the user's epoch
+     */
+    public boolean isRevoked(Long userId, long issuedAtMillis) {
+        Long epoch = userId == null ? null : epochs.get(userId);
+        return epoch != null && issuedAtMillis < epoch;
+    }
+
+    /**
+     * Invalidate every access and refresh token the user holds right now
+     */
+    @Transactional
+    public void revokeAll(Long userId, String reason) {
+        LocalDateTime now = LocalDateTime.now();
+        userRepository.updateTokensValidAfter(userId, now);
+        int refreshRevoked = refreshTokenRepository.revokeAllForUser(userId, now);
+
+        long epoch = toEpochMilli(now);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                epochs.merge(userId, epoch, Math::max);
+            }
+        });
+
+        logger.info("TOKENS_REVOKED | UserId: {} | Reason: {} | RefreshTokensRevoked: {}", userId, reason, refreshRevoked);
+    }
+
+    /**
+     * Pick up epochs written by other nodes
+     */
+    @Scheduled(initialDelayString = "${security.token-epoch.refresh-interval-ms:30000}",
+            fixedDelayString = "${security.token-epoch.refresh-interval-ms:30000}")
+    public void reload() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        LocalDateTime liveFrom = startedAt.minus(Duration.ofMillis(accessTokenTtlMs));
+        LocalDateTime since = loadedUntil != null ? loadedUntil : liveFrom;
+        for (Object[] row : userRepository.findTokenEpochsSince(since)) {
+            epochs.merge((Long) row[0], toEpochMilli((LocalDateTime) row[1]), Math::max);
+        }
+        // Overlap a little so a commit racing this query isn't missed
+        loadedUntil = startedAt.minusSeconds(5);
+
+        long cutoff = toEpochMilli(liveFrom);
+        epochs.values().removeIf(epoch -> epoch <= cutoff);
+    }
+
+    private static long toEpochMilli(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,214 @@
+package com.syn.usermanagement.service;
+
+import com.syn.usermanagement.dto.TokenIntrospection;
+import com.syn.usermanagement.dto.UserCredentialRow;
+import com.syn.usermanagement.dto.UserEvent;
+import com.syn.usermanagement.repository.BlacklistedTokenRepository;
+import com.syn.usermanagement.repository.UserRepository;
+import com.syn.usermanagement.security.JwtUtils;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Batch introspection of access tokens for the gateway and sibling services.
+ *
+ * A batch costs one signature check per unseen token, one blacklist query and
+ * one user query. Results are cached by token digest until the token expires,
+ * capped at auth.introspect.cache-ttl-ms so a logout on another node is seen
+ * within that window. Local logouts evict the entry; the per-user token epoch
+ * is checked on every hit; role, email changes and deletes drop the user's entries,
+ * found through a per-user digest index instead of a scan of the whole cache.
+ */
+@Service
+@RequiredArgsConstructor
+public class TokenIntrospectionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenIntrospectionService.class);
+
+    private final JwtUtils jwtUtils;
+    private final BlacklistedTokenRepository blacklistedTokenRepository;
+    private final UserRepository userRepository;
+    private final TokenEpochService tokenEpochService;
+
+    // token digest -> verification result
+    private final Map<String, Entry> cache = new ConcurrentHashMap<>();
+
+    // userId -> digests of the user's cached entries, so user events touch only those
+    private final Map<Long, Set<String>> digestsByUser = new ConcurrentHashMap<>();
+
+    @Value("${auth.introspect.cache-ttl-ms:30000}")
+    private long cacheTtlMs;
+
+    @Value("${auth.introspect.cache-max-entries:100000}")
+    private int cacheMaxEntries;
+
+    /**
+     * One result per token, in the given order
+     */
+    public List<TokenIntrospection> introspect(List<String> tokens) {
+        long now = System.currentTimeMillis();
+        Map<String, TokenIntrospection> results = new HashMap<>();
+        Map<String, Verified> verified = new LinkedHashMap<>();
+        int cacheHits = 0;
+
+        for (String token : new HashSet<>(tokens)) {
+            String digest = digest(token);
+            Entry entry = cache.get(digest);
+            if (entry != null && now < entry.cachedUntil()) {
+                results.put(token, entry.toResult(tokenEpochService, now));
+                cacheHits++;
+                continue;
+            }
+            Verified candidate = verify(token, digest);
+            if (candidate == null) {
+                results.put(token, TokenIntrospection.INACTIVE);
+            } else {
+                verified.put(token, candidate);
+            }
+        }
+
+        if (!verified.isEmpty()) {
+            resolve(verified, results, now);
+        }
+
+        logger.debug("TOKENS_INTROSPECTED | Requested: {} | Verified: {} | CacheHits: {}",
+                tokens.size(), verified.size(), cacheHits);
+        return tokens.stream().map(results::get).toList();
+    }
+
+    /**
+     * Forget a token that was just blacklisted
+     */
+    public void evict(String token) {
+        String digest = digest(token);
+        Entry removed = cache.remove(digest);
+        if (removed != null) {
+            unindex(removed.userId(), digest);
+        }
+    }
+
+    /**
+     * Role or email changes and deletes invalidate what was cached for the user
+     */
+    @TransactionalEventListener
+    public void onUserEvent(UserEvent event) {
+        Set<String> digests = digestsByUser.get(event.userId());
+        if (digests == null) {
+            return;
+        }
+        boolean deleted = UserEventService.Type.DELETED.name().equals(event.eventType());
+        for (String digest : digests) {
+            Entry entry = cache.get(digest);
+            if (entry == null || deleted || !Objects.equals(entry.role(), event.role()) || !Objects.equals(entry.sub(), event.email())) {
+                cache.remove(digest);
+                unindex(event.userId(), digest);
+            }
+        }
+    }
+
+    /**
+     * Drop expired entries
+     */
+    @Scheduled(fixedDelayString = "${auth.introspect.cache-purge-interval-ms:60000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        cache.entrySet().removeIf(cached -> {
+            if (cached.getValue().cachedUntil() > now) {
+                return false;
+            }
+            unindex(cached.getValue().userId(), cached.getKey());
+            return true;
+        });
+    }
+
+    private Verified verify(String token, String digest) {
+        try {
+            Claims claims = jwtUtils.extractClaims(token);
+            Long userId = claims.get(JwtUtils.USER_ID_CLAIM, Long.class);
+            long issuedAtMs = JwtUtils.issuedAtMillis(claims);
+            if (userId == null || tokenEpochService.isRevoked(userId, issuedAtMs)) {
+                return null;
+            }
+            return new Verified(digest, userId, claims.getSubject(), issuedAtMs, claims.getExpiration().getTime());
+        } catch (JwtException | IllegalArgumentException e) {
+            // Bad signature, malformed or expired - not cached, nothing to look up
+            return null;
+        }
+    }
+
+    private void resolve(Map<String, Verified> verified, Map<String, TokenIntrospection> results, long now) {
+        Set<String> blacklisted = new HashSet<>(blacklistedTokenRepository.findBlacklisted(verified.keySet()));
+        Map<Long, UserCredentialRow> users = userRepository.findCredentialRowsByIds(
+                        verified.values().stream().map(Verified::userId).collect(Collectors.toSet()))
+                .stream().collect(Collectors.toMap(UserCredentialRow::id, Function.identity()));
+
+        verified.forEach((token, candidate) -> {
+            UserCredentialRow user = users.get(candidate.userId());
+            boolean active = !blacklisted.contains(token) && user != null && user.email().equals(candidate.sub());
+            Entry entry = new Entry(active, candidate.userId(), candidate.sub(),
+                    active ? user.role().name() : null, candidate.issuedAtMs(), candidate.expiresAtMs(),
+                    Math.min(candidate.expiresAtMs(), now + cacheTtlMs));
+            results.put(token, entry.toResult(tokenEpochService, now));
+            if (cacheTtlMs > 0 && (cache.size() < cacheMaxEntries || cache.containsKey(candidate.digest()))) {
+                cache.put(candidate.digest(), entry);
+                digestsByUser.compute(candidate.userId(), (userId, digests) -> {
+                    Set<String> indexed = digests != null ? digests : ConcurrentHashMap.newKeySet();
+                    indexed.add(candidate.digest());
+                    return indexed;
+                });
+            }
+        });
+    }
+
+    private void unindex(Long userId, String digest) {
+        digestsByUser.computeIfPresent(userId, (id, digests) -> {
+            digests.remove(digest);
+            return digests.isEmpty() ? null : digests;
+        });
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return new String(digest, StandardCharsets.ISO_8859_1);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record Verified(String digest, Long userId, String sub, long issuedAtMs, long expiresAtMs) {
+    }
+
+    private record Entry(boolean active, Long userId, String sub, String role,
+                         long issuedAtMs, long expiresAtMs, long cachedUntil) {
+
+        TokenIntrospection toResult(TokenEpochService tokenEpochService, long now) {
+            // Epochs are in memory, so "logout everywhere" applies to cached entries immediately
+            if (!active || now >= expiresAtMs || tokenEpochService.isRevoked(userId, issuedAtMs)) {
+                return TokenIntrospection.INACTIVE;
+            }
+            return new TokenIntrospection(true, sub, role, expiresAtMs / 1000);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.syn.usermanagement.service;
+
+import com.syn.usermanagement.dto.UserChangeEntry;
+import com.syn.usermanagement.dto.UserChangesResponse;
+import com.syn.usermanagement.dto.UserEvent;
+import com.syn.usermanagement.dto.UserResponse;
+import com.syn.usermanagement.entity.User;
+import com.syn.usermanagement.entity.UserChange;
+import com.syn.usermanagement.exception.CursorExpiredException;
+import com.syn.usermanagement.exception.InvalidRequestException;
+import com.syn.usermanagement.repository.UserChangeRepository;
+import com.syn.usermanagement.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Incremental change feed: everything that changed after a cursor, so
+ * downstream caches re-sync in proportion to the changes, not the table.
+ *
+ * user_changes keeps the latest change per user under an auto-increment seq
+ * (see {@link UserChange}). Sequence numbers are taken at insert but become
+ * visible at commit, so a reader only goes up to the first change younger than
+ * users.changes.settle-ms - a change that is still committing is never skipped.
+ * Change times and the cutoff both use the database clock, and the feed is read
+ * from the primary: replica lag would hide a settled change behind the cursor.
+ *
+ * The cursor is opaque (seq plus the time it was handed out). Tombstones are
+ * purged after users.changes.tombstone-retention-ms; an older cursor could
+ * miss deletes, so it is rejected with 410 and the client does a full sync.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserChangeFeedService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserChangeFeedService.class);
+
+    private final UserChangeRepository userChangeRepository;
+    private final UserRepository userRepository;
+
+    @Value("${users.changes.settle-ms:2000}")
+    private long settleMs;
+
+    @Value("${users.changes.tombstone-retention-ms:604800000}")
+    private long tombstoneRetentionMs;
+
+    /**
+     * Replace the feed entries of the changed users - inside the user's transaction
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(List<UserEvent> events) {
+        LocalDateTime changedAt = userChangeRepository.currentTime();
+        userChangeRepository.deleteByUserIds(events.stream().map(UserEvent::userId).toList());
+        userChangeRepository.saveAll(events.stream()
+                .map(event -> new UserChange(event.userId(), event.eventType(),
+                        UserEventService.Type.DELETED.name().equals(event.eventType()),
+                        event.version(), changedAt))
+                .toList());
+    }
+
+    /**
+     * Up to limit changes after the cursor (null or blank = from the beginning).
+     * Read-write on purpose, so it runs on the primary
+     */
+    @Transactional
+    public UserChangesResponse changesSince(String cursor, int limit) {
+        long afterSeq = parseCursor(cursor);
+
+        LocalDateTime settledBefore = userChangeRepository.currentTime().minusNanos(settleMs * 1_000_000);
+        List<UserChange> settled = new ArrayList<>();
+        for (UserChange change : userChangeRepository.findAfter(afterSeq, PageRequest.of(0, limit + 1))) {
+            if (!change.getChangedAt().isBefore(settledBefore)) {
+                break;
+            }
+            settled.add(change);
+        }
+        boolean hasMore = settled.size() > limit;
+        List<UserChange> page = hasMore ? settled.subList(0, limit) : settled;
+
+        Map<Long, User> usersById = new HashMap<>();
+        List<Long> liveIds = page.stream().filter(change -> !change.isDeleted()).map(UserChange::getUserId).toList();
+        if (!liveIds.isEmpty()) {
+            userRepository.findAllById(liveIds).forEach(user -> usersById.put(user.getId(), user));
+        }
+
+        List<UserChangeEntry> entries = new ArrayList<>(page.size());
+        for (UserChange change : page) {
+            if (change.isDeleted()) {
+                entries.add(new UserChangeEntry(change.getUserId(), change.getEventType(), true,
+                        change.getVersion(), change.getChangedAt(), null));
+                continue;
+            }
+            User user = usersById.get(change.getUserId());
+            // Deleted since - its tombstone comes later in the feed
+            if (user != null) {
+                entries.add(new UserChangeEntry(user.getId(), change.getEventType(), false,
+                        user.getVersion(), change.getChangedAt(), UserResponse.from(user)));
+            }
+        }
+
+        long nextSeq = page.isEmpty() ? afterSeq : page.get(page.size() - 1).getSeq();
+        logger.debug("FETCH_USER_CHANGES | AfterSeq: {} | Returned: {} | HasMore: {}", afterSeq, entries.size(), hasMore);
+        return new UserChangesResponse(entries, encodeCursor(nextSeq), hasMore);
+    }
+
+    /**
+     * Drop tombstones past the retention (runs hourly)
+     */
+    @Scheduled(fixedRateString = "${users.changes.purge-interval-ms:3600000}")
+    public void purgeTombstones() {
+        int deleted = userChangeRepository.deleteTombstonesBefore(
+                userChangeRepository.currentTime().minusNanos(tombstoneRetentionMs * 1_000_000));
+        logger.info("User change tombstone cleanup completed - Deleted: {}", deleted);
+    }
+
+    private long parseCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0;
+        }
+        long seq;
+        long issuedAt;
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":");
+            seq = Long.parseLong(parts[0]);
+            issuedAt = Long.parseLong(parts[1]);
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new InvalidRequestException("Invalid change feed cursor");
+        }
+        if (System.currentTimeMillis() - issuedAt > tombstoneRetentionMs) {
+            throw new CursorExpiredException("Change feed cursor has expired, start a full sync without since");
+        }
+        return seq;
+    }
+
+    private static String encodeCursor(long seq) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((seq + ":" + System.currentTimeMillis()).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,183 @@
+package com.syn.usermanagement.service;
+
+import com.syn.usermanagement.dto.UserEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process fan-out of committed {@link UserEvent}s to Server-Sent Events
+ * subscribers (admin dashboards), so they stop polling the user listing.
+ *
+ * Publishing never blocks the committing thread: events go into a bounded
+ * per-subscriber buffer and a small sender pool writes them out. Pending events
+ * for the same user are coalesced (latest state wins). A subscriber that falls
+ * more than users.stream.buffer-size users behind loses its buffer and gets a
+ * "resync" event instead - it should reload (or follow the change feed) and
+ * carry on. Idle connections get a heartbeat comment every heartbeat-ms.
+ */
+@Component
+public class UserEventBroadcaster {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserEventBroadcaster.class);
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    private ExecutorService sender;
+
+    @Value("${users.stream.max-subscribers:500}")
+    private int maxSubscribers;
+
+    @Value("${users.stream.buffer-size:256}")
+    private int bufferSize;
+
+    @Value("${users.stream.sender-threads:2}")
+    private int senderThreads;
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger count = new AtomicInteger();
+        sender = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "user-event-stream-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        sender.shutdownNow();
+    }
+
+    /**
+     * Start pushing events to the emitter until it completes, times out or fails.
+     * False when users.stream.max-subscribers streams are already open.
+     */
+    public boolean subscribe(SseEmitter emitter) {
+        if (subscribers.size() >= maxSubscribers) {
+            logger.warn("USER_STREAM_REJECTED | Subscribers: {}", subscribers.size());
+            return false;
+        }
+        Subscriber subscriber = new Subscriber(emitter);
+        subscribers.add(subscriber);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+
+        logger.debug("USER_STREAM_SUBSCRIBED | Subscribers: {}", subscribers.size());
+        // Commits the response headers right away, so the client sees the stream open
+        subscriber.heartbeat();
+        return true;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @TransactionalEventListener
+    public void onUserEvent(UserEvent event) {
+        subscribers.forEach(subscriber -> subscriber.offer(event));
+    }
+
+    @Scheduled(fixedRateString = "${users.stream.heartbeat-ms:15000}")
+    public void sendHeartbeats() {
+        subscribers.forEach(Subscriber::heartbeat);
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+
+        // Guarded by this
+        private final Map<Long, UserEvent> pending = new LinkedHashMap<>();
+        private boolean overflowed;
+        private boolean heartbeatDue;
+        private boolean draining;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        synchronized void offer(UserEvent event) {
+            if (!pending.containsKey(event.userId()) && pending.size() >= bufferSize) {
+                overflowed = true;
+                pending.clear();
+            }
+            if (!overflowed) {
+                pending.put(event.userId(), event);
+            }
+            scheduleDrain();
+        }
+
+        synchronized void heartbeat() {
+            heartbeatDue = true;
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (!draining) {
+                draining = true;
+                sender.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                List<UserEvent> events;
+                boolean resync;
+                boolean heartbeat;
+                synchronized (this) {
+                    if (pending.isEmpty() && !overflowed && !heartbeatDue) {
+                        draining = false;
+                        return;
+                    }
+                    events = new ArrayList<>(pending.values());
+                    resync = overflowed;
+                    heartbeat = heartbeatDue && events.isEmpty() && !resync;
+                    pending.clear();
+                    overflowed = false;
+                    heartbeatDue = false;
+                }
+                try {
+                    if (resync) {
+                        logger.debug("USER_STREAM_OVERFLOW | Reason: Slow subscriber");
+                        emitter.send(SseEmitter.event().name("resync").data("{}", MediaType.APPLICATION_JSON));
+                    }
+                    for (UserEvent event : events) {
+                        emitter.send(SseEmitter.event().name("user").data(event, MediaType.APPLICATION_JSON));
+                    }
+                    if (heartbeat) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    // Client went away - the emitter callbacks remove the subscriber
+                    subscribers.remove(this);
+                    emitter.completeWithError(e);
+                    synchronized (this) {
+                        draining = false;
+                    }
+                    return;
+                }
+            }
+        }
+    }
+}
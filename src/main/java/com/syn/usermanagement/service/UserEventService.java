@@ -0,0 +1,124 @@
+package com.syn.usermanagement.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.syn.usermanagement.config.ReadYourWritesTracker;
+import com.syn.usermanagement.dto.UserBulkRow;
+import com.syn.usermanagement.dto.UserEvent;
+import com.syn.usermanagement.entity.OutboxEvent;
+import com.syn.usermanagement.entity.User;
+import com.syn.usermanagement.repository.OutboxEventRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records user lifecycle events in the outbox table (and the change feed).
+ *
+ * Must be called inside the transaction that changes the user, so the event
+ * is committed (or rolled back) together with the change. Publishing to the
+ * broker happens later in {@link OutboxRelay}.
+ *
+ * The same {@link UserEvent} is published as an application event so in-process
+ * consumers can follow changes with @TransactionalEventListener (after commit).
+ */
+@Service
+@RequiredArgsConstructor
+public class UserEventService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserEventService.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final UserChangeFeedService userChangeFeedService;
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED,
+        PHOTO_UPDATED,
+        PHOTO_DELETED
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Type type, User user) {
+        // Flush the user change first so its row lock is held before the outbox
+        // row gets an id - this keeps outbox ids in commit order for each user
+        entityManager.flush();
+
+        UserEvent event = new UserEvent(
+                type.name(),
+                user.getId(),
+                user.getName(),
+                user.getEmail(),
+                user.getPhotoUrl(),
+                user.getRole().name(),
+                user.getVersion(),
+                LocalDateTime.now()
+        );
+
+        outboxEventRepository.save(new OutboxEvent(user.getId(), type.name(), toJson(event)));
+        userChangeFeedService.record(List.of(event));
+        applicationEventPublisher.publishEvent(event);
+        markWrittenAfterCommit(List.of(user.getEmail()));
+
+        logger.debug("OUTBOX_EVENT_RECORDED | UserId: {} | Type: {}", user.getId(), type);
+    }
+
+    /**
+     * Record one event per row after a set-based statement. The rows must carry
+     * the state after the statement - read under the row locks the chunk holds,
+     * so outbox ids stay in commit order here as well.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAll(Type type, List<UserBulkRow> rows) {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> outboxEvents = new ArrayList<>(rows.size());
+        List<UserEvent> events = new ArrayList<>(rows.size());
+        for (UserBulkRow row : rows) {
+            UserEvent event = new UserEvent(type.name(), row.id(), row.name(), row.email(),
+                    row.photoUrl(), row.role().name(), row.version(), now);
+            events.add(event);
+            outboxEvents.add(new OutboxEvent(row.id(), type.name(), toJson(event)));
+        }
+
+        outboxEventRepository.saveAll(outboxEvents);
+        userChangeFeedService.record(events);
+        events.forEach(applicationEventPublisher::publishEvent);
+        markWrittenAfterCommit(rows.stream().map(UserBulkRow::email).toList());
+
+        logger.debug("OUTBOX_EVENTS_RECORDED | Count: {} | Type: {}", rows.size(), type);
+    }
+
+    // Reads for the changed users stay on the primary for a moment after commit
+    private void markWrittenAfterCommit(List<String> emails) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                emails.forEach(readYourWritesTracker::markWritten);
+            }
+        });
+    }
+
+    private String toJson(UserEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize user event", e);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.syn.usermanagement.service;
+
+import com.syn.usermanagement.dto.UserEvent;
+import com.syn.usermanagement.dto.UserResponse;
+import com.syn.usermanagement.entity.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Local cache of rendered users, so batch lookups of user references are
+ * mostly answered from memory.
+ *
+ * Same rules as {@link UserVersionCache}: refreshed from committed
+ * {@link UserEvent}s and from reads, a newer version always wins, and entries
+ * expire after users.response-cache.ttl-ms to bound staleness across nodes.
+ */
+@Component
+public class UserResponseCache {
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    @Value("${users.response-cache.ttl-ms:10000}")
+    private long ttlMs;
+
+    @Value("${users.response-cache.max-entries:100000}")
+    private int maxEntries;
+
+    /**
+     * Cached user, or null when unknown or expired
+     */
+    public UserResponse get(Long userId) {
+        Entry entry = entries.get(userId);
+        if (entry == null || System.currentTimeMillis() - entry.cachedAt() > ttlMs) {
+            return null;
+        }
+        return entry.user();
+    }
+
+    public void put(User user) {
+        put(UserResponse.from(user), user.getVersion());
+    }
+
+    public void put(UserResponse user, long version) {
+        if (ttlMs <= 0 || (entries.size() >= maxEntries && !entries.containsKey(user.id()))) {
+            return;
+        }
+        Entry fresh = new Entry(user, version, System.currentTimeMillis());
+        entries.merge(user.id(), fresh, (current, next) -> next.version() >= current.version() ? next : current);
+    }
+
+    public void evict(Long userId) {
+        entries.remove(userId);
+    }
+
+    @TransactionalEventListener
+    public void onUserEvent(UserEvent event) {
+        if (UserEventService.Type.DELETED.name().equals(event.eventType())) {
+            evict(event.userId());
+        } else {
+            put(new UserResponse(event.userId(), event.name(), event.email(), event.photoUrl(), event.role()),
+                    event.version());
+        }
+    }
+
+    /**
+     * Drop expired entries
+     */
+    @Scheduled(fixedDelayString = "${users.response-cache.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        long cutoff = System.currentTimeMillis() - ttlMs;
+        entries.values().removeIf(entry -> entry.cachedAt() < cutoff);
+    }
+
+    private record Entry(UserResponse user, long version, long cachedAt) {
+    }
+}
@@ -0,0 +1,492 @@
+package com.syn.usermanagement.service;
+
+import com.syn.usermanagement.dto.UserEvent;
+import com.syn.usermanagement.dto.UserSearchRow;
+import com.syn.usermanagement.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory search index over user name and email.
+ *
+ * Every token of the normalized text (lower case, no accents, split on anything
+ * that is not a letter or digit) is indexed by its trigrams and by its 1- and
+ * 2-character prefixes. Posting lists are sorted int arrays of dense document
+ * ids, so a query is an intersection of a few primitive arrays followed by a
+ * substring check and ranking of the survivors.
+ *
+ * The index is built at startup by paging through USERS in id order and kept
+ * current from committed {@link UserEvent}s. Updates append a new document and
+ * tombstone the old one; the index compacts itself once tombstones pile up.
+ * Writes made on other nodes are picked up by the periodic rebuild.
+ */
+@Component
+public class UserSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserSearchIndex.class);
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final int BUILD_PAGE_SIZE = 1000;
+    private static final long PREFIX_FLAG = 1L << 62;
+
+    private final UserRepository userRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Segment segment = new Segment();
+
+    // Events that arrive while a rebuild is running, replayed after the swap
+    private List<UserEvent> pendingEvents;
+
+    public UserSearchIndex(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Ranked user ids matching the query, best first
+     */
+    public List<Long> search(String query, int limit) {
+        String[] terms = tokenize(query);
+        if (terms.length == 0 || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            return segment.search(terms, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return segment.liveCount();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Keep the index current with committed user changes
+     */
+    @TransactionalEventListener
+    public void onUserEvent(UserEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (pendingEvents != null) {
+                pendingEvents.add(event);
+            }
+            apply(segment, event);
+            if (segment.needsCompaction()) {
+                segment = segment.compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void upsert(Long userId, String name, String email) {
+        lock.writeLock().lock();
+        try {
+            segment.upsert(userId, name, email);
+            if (segment.needsCompaction()) {
+                segment = segment.compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long userId) {
+        lock.writeLock().lock();
+        try {
+            segment.remove(userId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Build at startup
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            logger.error("SEARCH_INDEX_BUILD_FAILED | Reason: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Full rebuild - picks up writes made on other nodes (every 10 minutes by default)
+     */
+    @Scheduled(initialDelayString = "${search.index.rebuild-interval-ms:600000}",
+            fixedDelayString = "${search.index.rebuild-interval-ms:600000}")
+    public void scheduledRebuild() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            logger.warn("SEARCH_INDEX_REBUILD_FAILED | Reason: {}", e.getMessage());
+        }
+    }
+
+    public synchronized void rebuild() {
+        long startTime = System.currentTimeMillis();
+
+        lock.writeLock().lock();
+        try {
+            pendingEvents = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Segment fresh = new Segment();
+        try {
+            long afterId = 0;
+            List<UserSearchRow> rows;
+            do {
+                rows = userRepository.findSearchRowsAfter(afterId, PageRequest.of(0, BUILD_PAGE_SIZE));
+                for (UserSearchRow row : rows) {
+                    fresh.upsert(row.id(), row.name(), row.email());
+                }
+                if (!rows.isEmpty()) {
+                    afterId = rows.get(rows.size() - 1).id();
+                }
+            } while (rows.size() == BUILD_PAGE_SIZE);
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pendingEvents = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        // Replay what changed during the build and swap in one step
+        lock.writeLock().lock();
+        try {
+            for (UserEvent event : pendingEvents) {
+                apply(fresh, event);
+            }
+            pendingEvents = null;
+            segment = fresh;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        logger.info("SEARCH_INDEX_BUILT | Users: {} | Duration: {}ms",
+                fresh.liveCount(), System.currentTimeMillis() - startTime);
+    }
+
+    private static void apply(Segment target, UserEvent event) {
+        if (UserEventService.Type.DELETED.name().equals(event.eventType())) {
+            target.remove(event.userId());
+        } else {
+            target.upsert(event.userId(), event.name(), event.email());
+        }
+    }
+
+    /**
+     * Lower case, strip accents, split on anything that is not a letter or digit
+     */
+    static String[] tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return new String[0];
+        }
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase();
+        return Arrays.stream(normalized.split("[^\\p{L}\\p{N}]+"))
+                .filter(token -> !token.isEmpty())
+                .toArray(String[]::new);
+    }
+
+    private static long trigram(String token, int offset) {
+        return ((long) token.charAt(offset) << 32)
+                | ((long) token.charAt(offset + 1) << 16)
+                | token.charAt(offset + 2);
+    }
+
+    private static long prefix(String token, int length) {
+        long key = PREFIX_FLAG | ((long) length << 48) | token.charAt(0);
+        if (length > 1) {
+            key |= (long) token.charAt(1) << 16;
+        }
+        return key;
+    }
+
+    /**
+     * Grams that must all be present for a document to contain the term
+     */
+    private static long[] queryGrams(String term) {
+        if (term.length() < 3) {
+            return new long[]{prefix(term, term.length())};
+        }
+        long[] grams = new long[term.length() - 2];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = trigram(term, i);
+        }
+        return grams;
+    }
+
+    /**
+     * One immutable-id generation of the index (docs are append-only)
+     */
+    private static final class Segment {
+
+        private final Map<Long, Postings> postings = new HashMap<>();
+        private final Map<Long, Integer> docByUserId = new HashMap<>();
+        private final BitSet deleted = new BitSet();
+
+        private long[] userIds = new long[1024];
+        private String[] names = new String[1024];
+        private String[] texts = new String[1024];
+        private int docCount;
+        private int deletedCount;
+
+        void upsert(Long userId, String name, String email) {
+            remove(userId);
+
+            String[] nameTokens = tokenize(name);
+            String[] emailTokens = tokenize(email);
+
+            int doc = docCount++;
+            if (doc == userIds.length) {
+                int capacity = userIds.length * 2;
+                userIds = Arrays.copyOf(userIds, capacity);
+                names = Arrays.copyOf(names, capacity);
+                texts = Arrays.copyOf(texts, capacity);
+            }
+            userIds[doc] = userId;
+            names[doc] = String.join(" ", nameTokens);
+            texts[doc] = names[doc] + " " + String.join(" ", emailTokens);
+            docByUserId.put(userId, doc);
+
+            index(doc, nameTokens);
+            index(doc, emailTokens);
+        }
+
+        private void index(int doc, String[] tokens) {
+            for (String token : tokens) {
+                add(prefix(token, 1), doc);
+                if (token.length() > 1) {
+                    add(prefix(token, 2), doc);
+                }
+                for (int i = 0; i + 3 <= token.length(); i++) {
+                    add(trigram(token, i), doc);
+                }
+            }
+        }
+
+        private void add(long gram, int doc) {
+            postings.computeIfAbsent(gram, g -> new Postings()).add(doc);
+        }
+
+        void remove(Long userId) {
+            Integer doc = docByUserId.remove(userId);
+            if (doc != null) {
+                deleted.set(doc);
+                deletedCount++;
+            }
+        }
+
+        int liveCount() {
+            return docCount - deletedCount;
+        }
+
+        boolean needsCompaction() {
+            return deletedCount > 1000 && deletedCount > docCount / 4;
+        }
+
+        Segment compact() {
+            Segment compacted = new Segment();
+            for (int doc = 0; doc < docCount; doc++) {
+                if (!deleted.get(doc)) {
+                    compacted.reindex(userIds[doc], names[doc], texts[doc]);
+                }
+            }
+            return compacted;
+        }
+
+        private void reindex(long userId, String name, String text) {
+            int doc = docCount++;
+            if (doc == userIds.length) {
+                int capacity = userIds.length * 2;
+                userIds = Arrays.copyOf(userIds, capacity);
+                names = Arrays.copyOf(names, capacity);
+                texts = Arrays.copyOf(texts, capacity);
+            }
+            userIds[doc] = userId;
+            names[doc] = name;
+            texts[doc] = text;
+            docByUserId.put(userId, doc);
+            index(doc, text.split(" "));
+        }
+
+        List<Long> search(String[] terms, int limit) {
+            // Collect the posting lists of every gram, smallest first
+            List<Postings> lists = new ArrayList<>();
+            for (String term : terms) {
+                for (long gram : queryGrams(term)) {
+                    Postings list = postings.get(gram);
+                    if (list == null) {
+                        return List.of();
+                    }
+                    lists.add(list);
+                }
+            }
+            lists.sort((a, b) -> Integer.compare(a.size, b.size));
+
+            TopK top = new TopK(limit);
+            Postings smallest = lists.get(0);
+            int[] cursors = new int[lists.size()];
+
+            candidates:
+            for (int i = 0; i < smallest.size; i++) {
+                int doc = smallest.docs[i];
+                if (deleted.get(doc)) {
+                    continue;
+                }
+                for (int l = 1; l < lists.size(); l++) {
+                    Postings other = lists.get(l);
+                    cursors[l] = other.advance(cursors[l], doc);
+                    if (cursors[l] == other.size) {
+                        break candidates;
+                    }
+                    if (other.docs[cursors[l]] != doc) {
+                        continue candidates;
+                    }
+                }
+                int score = score(doc, terms);
+                if (score > 0) {
+                    top.offer(score, userIds[doc]);
+                }
+            }
+
+            return top.userIds();
+        }
+
+        /**
+         * 0 = false positive of the gram intersection; otherwise higher is better:
+         * name starts with the query, then token prefix matches, then substrings
+         */
+        private int score(int doc, String[] terms) {
+            String text = texts[doc];
+            int score = 0;
+            for (String term : terms) {
+                int at = text.indexOf(term);
+                if (at < 0) {
+                    return 0;
+                }
+                boolean tokenStart = at == 0 || text.charAt(at - 1) == ' ';
+                score += tokenStart ? 2 : 1;
+            }
+            if (names[doc].startsWith(terms[0])) {
+                score += 2;
+            }
+            return score;
+        }
+    }
+
+    /**
+     * Growable sorted int array of document ids
+     */
+    private static final class Postings {
+
+        private int[] docs = new int[4];
+        private int size;
+
+        void add(int doc) {
+            if (size > 0 && docs[size - 1] == doc) {
+                return;
+            }
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+            }
+            docs[size++] = doc;
+        }
+
+        /**
+         * First position at or after 'from' whose doc is >= target (galloping search)
+         */
+        int advance(int from, int target) {
+            int step = 1;
+            int low = from;
+            int high = from;
+            while (high < size && docs[high] < target) {
+                low = high + 1;
+                high += step;
+                step <<= 1;
+            }
+            high = Math.min(high, size);
+            int index = Arrays.binarySearch(docs, low, high, target);
+            return index >= 0 ? index : -index - 1;
+        }
+    }
+
+    /**
+     * Fixed-size selection of the best documents (score desc, user id asc)
+     */
+    private static final class TopK {
+
+        private final int[] scores;
+        private final long[] ids;
+        private int size;
+
+        TopK(int limit) {
+            scores = new int[limit];
+            ids = new long[limit];
+        }
+
+        void offer(int score, long userId) {
+            if (size == scores.length) {
+                int last = size - 1;
+                if (!better(score, userId, scores[last], ids[last])) {
+                    return;
+                }
+                size--;
+            }
+            int position = size;
+            while (position > 0 && better(score, userId, scores[position - 1], ids[position - 1])) {
+                scores[position] = scores[position - 1];
+                ids[position] = ids[position - 1];
+                position--;
+            }
+            scores[position] = score;
+            ids[position] = userId;
+            size++;
+        }
+
+        private static boolean better(int score, long userId, int otherScore, long otherId) {
+            return score > otherScore || (score == otherScore && userId < otherId);
+        }
+
+        List<Long> userIds() {
+            List<Long> result = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                result.add(ids[i]);
+            }
+            return result;
+        }
+    }
+}
@@ -1,19 +1,32 @@
 package com.syn.usermanagement.service;
 
+import com.syn.usermanagement.dto.UserBatchResponse;
+import com.syn.usermanagement.dto.UserPatchRequest;
+import com.syn.usermanagement.dto.UserResponse;
+import com.syn.usermanagement.dto.UserVersionRow;
 import com.syn.usermanagement.entity.User;
 import com.syn.usermanagement.exception.ResourceNotFoundException;
 import com.syn.usermanagement.exception.EmailAlreadyExistsException;
+import com.syn.usermanagement.exception.PreconditionFailedException;
 import com.syn.usermanagement.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 @Service
 @RequiredArgsConstructor
@@ -23,7 +36,15 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final S3Service s3Service;
-
+    private final UserEventService userEventService;
+    private final TransactionTemplate transactionTemplate;
+    private final UserSearchIndex userSearchIndex;
+    private final UserVersionCache userVersionCache;
+    private final UserResponseCache userResponseCache;
+    private final PasswordEncoder passwordEncoder;
+    private final TokenEpochService tokenEpochService;
+
+    @Transactional(readOnly = true)
     public Page<User> getAllUsers(Pageable pageable) {
         logger.debug("FETCH_USERS | Page: {} | Size: {}", pageable.getPageNumber(), pageable.getPageSize());
 
@@ -35,14 +56,104 @@ public class UserService {
         return users;
     }
 
+    @Transactional(readOnly = true)
     public User getUserById(Long id) {
         logger.debug("FETCH_USER | UserId: {}", id);
 
-        return userRepository.findById(id)
-                .orElseThrow(() -> {
-                    logger.warn("USER_NOT_FOUND | UserId: {}", id);
-                    return new ResourceNotFoundException("User not found with id: " + id);
-                });
+        // Not logged here - GlobalExceptionHandler counts and samples 404s
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
+        userVersionCache.put(user.getId(), user.getVersion());
+        userResponseCache.put(user);
+        return user;
+    }
+
+    /**
+     * Resolve many users at once: cache hits from memory, the rest with one
+     * IN query. Not transactional, so a fully cached batch never opens a
+     * connection. Keeps the request order; unknown ids are reported as missing.
+     */
+    public UserBatchResponse getUsersByIds(Collection<Long> ids) {
+        Map<Long, UserResponse> found = new HashMap<>();
+        List<Long> misses = new ArrayList<>();
+        for (Long id : ids) {
+            UserResponse cached = userResponseCache.get(id);
+            if (cached != null) {
+                found.put(id, cached);
+            } else {
+                misses.add(id);
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            for (User user : userRepository.findAllById(misses)) {
+                userVersionCache.put(user.getId(), user.getVersion());
+                userResponseCache.put(user);
+                found.put(user.getId(), UserResponse.from(user));
+            }
+        }
+
+        logger.debug("FETCH_USERS_BATCH | Requested: {} | CacheHits: {} | Missing: {}",
+                ids.size(), ids.size() - misses.size(), ids.size() - found.size());
+
+        List<UserResponse> users = new ArrayList<>(found.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            UserResponse user = found.get(id);
+            if (user != null) {
+                users.add(user);
+            } else {
+                missing.add(id);
+            }
+        }
+        return new UserBatchResponse(users, missing);
+    }
+
+    /**
+     * Current version of a user, for conditional requests. Not transactional on
+     * purpose: a warm cache answers without touching the database at all.
+     */
+    public long getUserVersion(Long id) {
+        Long cached = userVersionCache.get(id);
+        if (cached != null) {
+            return cached;
+        }
+
+        long version = userRepository.findVersionById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
+        userVersionCache.put(id, version);
+        return version;
+    }
+
+    /**
+     * (id, version) pairs of a page, for conditional list requests
+     */
+    @Transactional(readOnly = true)
+    public Page<UserVersionRow> getUserVersions(Pageable pageable) {
+        return userRepository.findVersionRows(pageable);
+    }
+
+    /**
+     * Search users by name / email - ranked from the in-memory index,
+     * only the top results are loaded from the database
+     */
+    @Transactional(readOnly = true)
+    public List<User> searchUsers(String query, int limit) {
+        List<Long> ids = userSearchIndex.search(query, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, User> usersById = new HashMap<>();
+        userRepository.findAllById(ids).forEach(user -> usersById.put(user.getId(), user));
+
+        logger.debug("SEARCH_USERS | Query: {} | Hits: {}", query, ids.size());
+
+        // Keep the index ranking; skip ids deleted since the index saw them
+        return ids.stream()
+                .map(usersById::get)
+                .filter(Objects::nonNull)
+                .toList();
     }
 
     @Transactional
@@ -54,7 +165,10 @@ public class UserService {
             throw new EmailAlreadyExistsException("Email already exists: " + user.getEmail());
         }
 
+        // Callers pass the raw password
+        user.setPassword(passwordEncoder.encode(user.getPassword()));
         User savedUser = userRepository.save(user);
+        userEventService.record(UserEventService.Type.CREATED, savedUser);
 
         logger.info("CREATE_USER_SUCCESS | UserId: {} | Email: {}", savedUser.getId(), savedUser.getEmail());
 
@@ -63,10 +177,20 @@ public class UserService {
 
     @Transactional
     public User updateUser(Long id, User userDetails) {
+        return updateUser(id, userDetails, null);
+    }
+
+    /**
+     * Update a user; when expectedVersion is set the update only applies to that
+     * version (If-Match), and the @Version check still guards the commit itself
+     */
+    @Transactional
+    public User updateUser(Long id, User userDetails, Long expectedVersion) {
         logger.info("UPDATE_USER_ATTEMPT | UserId: {} | NewEmail: {} | NewName: {}",
                 id, userDetails.getEmail(), userDetails.getName());
 
         User user = getUserById(id);
+        checkVersion(user, expectedVersion);
 
         // Check if email is being changed and if it already exists
         if (!user.getEmail().equals(userDetails.getEmail()) &&
@@ -78,12 +202,23 @@ public class UserService {
 
         String oldEmail = user.getEmail();
         String oldName = user.getName();
+        // The body carries the raw password; only a different one is encoded and stored
+        boolean passwordChanged = userDetails.getPassword() != null
+                && !passwordEncoder.matches(userDetails.getPassword(), user.getPassword());
 
         user.setName(userDetails.getName());
         user.setEmail(userDetails.getEmail());
-        user.setPassword(userDetails.getPassword());
+        if (passwordChanged) {
+            user.setPassword(passwordEncoder.encode(userDetails.getPassword()));
+        }
 
         User updatedUser = userRepository.save(user);
+        userEventService.record(UserEventService.Type.UPDATED, updatedUser);
+
+        // A new password ends every existing session
+        if (passwordChanged) {
+            tokenEpochService.revokeAll(id, "Password changed");
+        }
 
         logger.info("UPDATE_USER_SUCCESS | UserId: {} | EmailChanged: {} | NameChanged: {}",
                 id,
@@ -93,6 +228,68 @@ public class UserService {
         return updatedUser;
     }
 
+    /**
+     * Revoke every token of an existing user (admin "logout everywhere")
+     */
+    @Transactional
+    public void revokeAllTokens(Long id) {
+        if (!userRepository.existsById(id)) {
+            throw new ResourceNotFoundException("User not found with id: " + id);
+        }
+        tokenEpochService.revokeAll(id, "Admin request");
+    }
+
+    /**
+     * Apply only the fields present in the patch. Unchanged fields stay clean, so
+     * the UPDATE (see @DynamicUpdate on User) only carries the columns that changed.
+     */
+    @Transactional
+    public User patchUser(Long id, UserPatchRequest patch, Long expectedVersion) {
+        logger.info("PATCH_USER_ATTEMPT | UserId: {} | Name: {} | Email: {} | Password: {}",
+                id, patch.getName() != null, patch.getEmail() != null, patch.getPassword() != null);
+
+        User user = getUserById(id);
+        checkVersion(user, expectedVersion);
+
+        List<String> changed = new ArrayList<>(3);
+
+        if (patch.getName() != null && !patch.getName().equals(user.getName())) {
+            user.setName(patch.getName());
+            changed.add("name");
+        }
+
+        // Uniqueness is only checked when the email really changes
+        if (patch.getEmail() != null && !patch.getEmail().equals(user.getEmail())) {
+            if (userRepository.existsByEmail(patch.getEmail())) {
+                logger.warn("PATCH_USER_FAILED | UserId: {} | Reason: Email already exists | NewEmail: {}",
+                        id, patch.getEmail());
+                throw new EmailAlreadyExistsException("Email already exists: " + patch.getEmail());
+            }
+            user.setEmail(patch.getEmail());
+            changed.add("email");
+        }
+
+        if (patch.getPassword() != null) {
+            user.setPassword(passwordEncoder.encode(patch.getPassword()));
+            changed.add("password");
+        }
+
+        if (changed.isEmpty()) {
+            logger.info("PATCH_USER_NOOP | UserId: {}", id);
+            return user;
+        }
+
+        userEventService.record(UserEventService.Type.UPDATED, user);
+
+        // A new password ends every existing session
+        if (changed.contains("password")) {
+            tokenEpochService.revokeAll(id, "Password changed");
+        }
+
+        logger.info("PATCH_USER_SUCCESS | UserId: {} | Changed: {} | Version: {}", id, changed, user.getVersion());
+        return user;
+    }
+
     @Transactional
     public void deleteUser(Long id) {
         logger.info("DELETE_USER_ATTEMPT | UserId: {}", id);
@@ -101,6 +298,7 @@ public class UserService {
         String email = user.getEmail();
 
         userRepository.delete(user);
+        userEventService.record(UserEventService.Type.DELETED, user);
 
         logger.info("DELETE_USER_SUCCESS | UserId: {} | Email: {}", id, email);
     }
@@ -128,9 +326,13 @@ public class UserService {
             // Upload new photo to S3
             String photoUrl = s3Service.uploadFile(file, userId);
 
-            // Update user with new photo URL
-            user.setPhotoUrl(photoUrl);
-            User savedUser = userRepository.save(user);
+            // Update user with new photo URL (S3 call stays outside the transaction)
+            User savedUser = transactionTemplate.execute(status -> {
+                user.setPhotoUrl(photoUrl);
+                User saved = userRepository.save(user);
+                userEventService.record(UserEventService.Type.PHOTO_UPDATED, saved);
+                return saved;
+            });
 
             logger.info("PHOTO_UPLOAD_SUCCESS | UserId: {} | PhotoUrl: {}", userId, photoUrl);
 
@@ -160,8 +362,12 @@ public class UserService {
 
             try {
                 s3Service.deleteFile(user.getPhotoUrl());
-                user.setPhotoUrl(null);
-                User savedUser = userRepository.save(user);
+                User savedUser = transactionTemplate.execute(status -> {
+                    user.setPhotoUrl(null);
+                    User saved = userRepository.save(user);
+                    userEventService.record(UserEventService.Type.PHOTO_DELETED, saved);
+                    return saved;
+                });
 
                 logger.info("PHOTO_DELETE_SUCCESS | UserId: {} | DeletedPhotoUrl: {}", userId, oldPhotoUrl);
 
@@ -177,4 +383,12 @@ public class UserService {
         logger.debug("PHOTO_DELETE_SKIPPED | UserId: {} | Reason: No photo exists", userId);
         return user;
     }
-}
\ No newline at end of file
+
+    private void checkVersion(User user, Long expectedVersion) {
+        if (expectedVersion != null && user.getVersion() != expectedVersion) {
+            logger.warn("UPDATE_USER_FAILED | UserId: {} | Reason: Version mismatch | Expected: {} | Current: {}",
+                    user.getId(), expectedVersion, user.getVersion());
+            throw new PreconditionFailedException("User " + user.getId() + " has changed, current version is " + user.getVersion());
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.syn.usermanagement.service;
+
+import com.syn.usermanagement.dto.UserEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Local cache of user versions, so a conditional GET can be answered with a
+ * 304 without touching the database.
+ *
+ * Entries are refreshed from committed {@link UserEvent}s and from reads. Changes
+ * made on other nodes are not seen here, so entries expire after
+ * users.version-cache.ttl-ms - that bounds how long a poller can get a stale 304.
+ */
+@Component
+public class UserVersionCache {
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    @Value("${users.version-cache.ttl-ms:10000}")
+    private long ttlMs;
+
+    @Value("${users.version-cache.max-entries:100000}")
+    private int maxEntries;
+
+    /**
+     * Cached version, or null when unknown or expired
+     */
+    public Long get(Long userId) {
+        Entry entry = entries.get(userId);
+        if (entry == null || System.currentTimeMillis() - entry.cachedAt() > ttlMs) {
+            return null;
+        }
+        return entry.version();
+    }
+
+    public void put(Long userId, long version) {
+        if (ttlMs <= 0 || (entries.size() >= maxEntries && !entries.containsKey(userId))) {
+            return;
+        }
+        Entry fresh = new Entry(version, System.currentTimeMillis());
+        // Versions only grow - never let a slow reader overwrite a newer commit
+        entries.merge(userId, fresh, (current, next) -> next.version() >= current.version() ? next : current);
+    }
+
+    public void evict(Long userId) {
+        entries.remove(userId);
+    }
+
+    @TransactionalEventListener
+    public void onUserEvent(UserEvent event) {
+        if (UserEventService.Type.DELETED.name().equals(event.eventType())) {
+            evict(event.userId());
+        } else {
+            put(event.userId(), event.version());
+        }
+    }
+
+    /**
+     * Drop expired entries
+     */
+    @Scheduled(fixedDelayString = "${users.version-cache.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        long cutoff = System.currentTimeMillis() - ttlMs;
+        entries.values().removeIf(entry -> entry.cachedAt() < cutoff);
+    }
+
+    private record Entry(long version, long cachedAt) {
+    }
+}
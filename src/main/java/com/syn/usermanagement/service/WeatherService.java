@@ -1,6 +1,11 @@
 package com.syn.usermanagement.service;
 
+import com.syn.usermanagement.entity.WeatherResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
@@ -10,5 +15,16 @@ public class WeatherService {
     @Autowired
     RestTemplate restTemplate;
 
+    @Value("${weather.api.url:http://api.weatherstack.com/current?access_key=f4ae8bcd7c6773390ff253ec1e5f6606&query=Delhi}")
+    private String weatherApiUrl;
 
+    /**
+     * Current weather from the configured weather API
+     */
+    public WeatherResponse getCurrentWeather() {
+        ResponseEntity<WeatherResponse> response = restTemplate.exchange(
+                weatherApiUrl, HttpMethod.GET, new HttpEntity<>(""), WeatherResponse.class
+        );
+        return response.getBody();
+    }
 }
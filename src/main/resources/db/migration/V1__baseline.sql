@@ -0,0 +1,23 @@
+-- Schema of the last release, as created there by hibernate.ddl-auto=update.
+-- Existing databases are baselined at this version (spring.flyway.baseline-on-migrate)
+-- and skip it; everything added since is in V2 onward.
+
+create table users (
+    id bigint not null auto_increment,
+    email varchar(255) not null,
+    name varchar(255) not null,
+    password varchar(255) not null,
+    photo_url varchar(255),
+    role enum ('USER','ADMIN') not null,
+    primary key (id),
+    constraint uk_users_email unique (email)
+) engine=InnoDB;
+
+create table blacklisted_tokens (
+    id bigint not null auto_increment,
+    token varchar(500) not null,
+    blacklisted_at datetime(6) not null,
+    expires_at datetime(6) not null,
+    primary key (id),
+    constraint uk_blacklisted_tokens_token unique (token)
+) engine=InnoDB;
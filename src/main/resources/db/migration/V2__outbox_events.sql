@@ -0,0 +1,9 @@
+-- Transactional outbox for user lifecycle events, drained by OutboxRelay
+create table outbox_events (
+    id bigint not null auto_increment,
+    aggregate_id bigint not null,
+    event_type varchar(50) not null,
+    payload varchar(4000) not null,
+    created_at datetime(6) not null,
+    primary key (id)
+) engine=InnoDB;
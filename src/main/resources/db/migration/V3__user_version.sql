@@ -0,0 +1,2 @@
+-- Optimistic locking and ETags: existing users start at version 0
+alter table users add column version bigint not null default 0;
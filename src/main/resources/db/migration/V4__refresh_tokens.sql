@@ -0,0 +1,15 @@
+-- Rotating refresh tokens, stored as SHA-256 hashes; reuse revokes the whole family
+create table refresh_tokens (
+    id bigint not null auto_increment,
+    user_id bigint not null,
+    family_id varchar(36) not null,
+    token_hash varchar(64) not null,
+    issued_at datetime(6) not null,
+    expires_at datetime(6) not null,
+    used_at datetime(6),
+    revoked_at datetime(6),
+    primary key (id),
+    constraint uk_refresh_tokens_token_hash unique (token_hash)
+) engine=InnoDB;
+
+create index idx_refresh_tokens_family on refresh_tokens (family_id);
@@ -0,0 +1,11 @@
+-- Per-user token epoch: access tokens issued before it are rejected
+alter table users add column tokens_valid_after datetime(6);
+
+-- Token epoch reload: SELECT ... FROM users WHERE tokens_valid_after > ?
+create index idx_users_tokens_valid_after on users (tokens_valid_after);
+
+-- Revoke every session of a user: UPDATE refresh_tokens ... WHERE user_id = ?
+create index idx_refresh_tokens_user on refresh_tokens (user_id);
+
+-- Refresh token cleanup: DELETE FROM refresh_tokens WHERE expires_at < ?
+create index idx_refresh_tokens_expires on refresh_tokens (expires_at);
@@ -0,0 +1,13 @@
+-- Idempotency-Key claims and stored responses (idempotency.store=database)
+create table idempotency_keys (
+    key_hash varchar(64) not null,
+    request_hash varchar(64) not null,
+    status integer,
+    content_type varchar(100),
+    body mediumblob,
+    created_at datetime(6) not null,
+    expires_at datetime(6) not null,
+    primary key (key_hash)
+) engine=InnoDB;
+
+create index idx_idempotency_keys_expires on idempotency_keys (expires_at);
@@ -0,0 +1,7 @@
+-- GET /api/users sorts by id, name or email (UserSortKey). id is the primary key
+-- and email has its unique index; name needs one, with id as the tiebreaker the
+-- listing appends, so every page is read in index order instead of a filesort.
+create index idx_users_name_id on users (name, id);
+
+-- Blacklist cleanup: DELETE FROM blacklisted_tokens WHERE expires_at < ?
+create index idx_blacklisted_tokens_expires on blacklisted_tokens (expires_at);
@@ -0,0 +1,18 @@
+-- Change feed (GET /api/users/changes): latest change per user, read in seq
+-- order from the primary key. Existing users start out as one change each.
+create table user_changes (
+    seq bigint not null auto_increment,
+    user_id bigint not null,
+    event_type varchar(50) not null,
+    deleted bit not null,
+    version bigint not null,
+    changed_at datetime(6) not null,
+    primary key (seq),
+    constraint uk_user_changes_user_id unique (user_id)
+) engine=InnoDB;
+
+-- Tombstone purge
+create index idx_user_changes_changed_at on user_changes (changed_at);
+
+insert into user_changes (user_id, event_type, deleted, version, changed_at)
+select id, 'CREATED', false, version, current_timestamp(6) from users order by id;
@@ -0,0 +1,7 @@
+-- Leases for scheduled jobs that must run on one node at a time (SchedulerLeaseService)
+create table scheduler_leases (
+    name varchar(64) not null,
+    owner varchar(255) not null,
+    locked_until datetime(6) not null,
+    primary key (name)
+) engine=InnoDB;
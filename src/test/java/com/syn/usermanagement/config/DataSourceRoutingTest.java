@@ -0,0 +1,89 @@
+package com.syn.usermanagement.config;
+
+import com.syn.usermanagement.entity.BlacklistedToken;
+import com.syn.usermanagement.repository.BlacklistedTokenRepository;
+import com.syn.usermanagement.service.TokenBlacklistService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:primary;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "app.datasource.replica.url=jdbc:h2:mem:replica;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "app.datasource.read-your-writes-ms=60000"
+})
+class DataSourceRoutingTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ReadYourWritesTracker readYourWritesTracker;
+
+    @Autowired
+    private TokenBlacklistService tokenBlacklistService;
+
+    @Autowired
+    private BlacklistedTokenRepository blacklistedTokenRepository;
+
+    @AfterEach
+    void clearSubject() {
+        readYourWritesTracker.clearSubject();
+    }
+
+    @Test
+    void readOnlyTransactionsUseReplica() {
+        assertThat(currentDatabase(true)).isEqualTo("REPLICA");
+        assertThat(currentDatabase(false)).isEqualTo("PRIMARY");
+    }
+
+    @Test
+    void recentWriterReadsFromPrimary() {
+        readYourWritesTracker.setSubject("writer@example.com");
+        assertThat(currentDatabase(true)).isEqualTo("REPLICA");
+
+        // A committed read-write transaction opens the window for the subject
+        currentDatabase(false);
+        assertThat(currentDatabase(true)).isEqualTo("PRIMARY");
+
+        readYourWritesTracker.setSubject("someone-else@example.com");
+        assertThat(currentDatabase(true)).isEqualTo("REPLICA");
+    }
+
+    @Test
+    void blacklistChecksReadThePrimary() {
+        // Only the primary has the schema; a check routed to the replica would fail
+        blacklistedTokenRepository.save(new BlacklistedToken("routing-logged-out", LocalDateTime.now().plusMinutes(5)));
+
+        assertThat(tokenBlacklistService.isTokenBlacklisted("routing-logged-out")).isTrue();
+        assertThat(blacklistedTokenRepository.findBlacklisted(List.of("routing-logged-out", "routing-live")))
+                .containsExactly("routing-logged-out");
+    }
+
+    @Test
+    void blacklistCleanupReadsExpiredIdsFromThePrimary() {
+        blacklistedTokenRepository.save(new BlacklistedToken("routing-expired", LocalDateTime.now().minusMinutes(5)));
+
+        tokenBlacklistService.cleanupExpiredTokens();
+
+        assertThat(blacklistedTokenRepository.findBlacklisted(List.of("routing-expired"))).isEmpty();
+    }
+
+    private String currentDatabase(boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template.execute(status -> jdbcTemplate.queryForObject("SELECT DATABASE()", String.class));
+    }
+}
@@ -0,0 +1,40 @@
+package com.syn.usermanagement.config;
+
+import com.syn.usermanagement.aspect.LoggingAspect;
+import com.syn.usermanagement.entity.User;
+import com.syn.usermanagement.entity.WeatherResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NativeRuntimeHintsTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    NativeRuntimeHintsTest() {
+        new NativeRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void registersJjwtImplementationsAndServiceFiles() {
+        assertThat(RuntimeHintsPredicates.reflection()
+                .onType(TypeReference.of("io.jsonwebtoken.jackson.io.JacksonSerializer")))
+                .accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection()
+                .onType(TypeReference.of("io.jsonwebtoken.impl.DefaultJwtBuilder$Supplier")))
+                .accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource().forResource("META-INF/services/io.jsonwebtoken.io.Serializer"))
+                .accepts(hints);
+    }
+
+    @Test
+    void registersEntitiesWeatherBindingAndAspect() {
+        assertThat(RuntimeHintsPredicates.reflection().onType(User.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onField(WeatherResponse.Current.class, "temperature"))
+                .accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(LoggingAspect.class)).accepts(hints);
+    }
+}
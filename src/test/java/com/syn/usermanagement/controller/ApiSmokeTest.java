@@ -0,0 +1,296 @@
+package com.syn.usermanagement.controller;
+
+import com.sun.net.httpserver.HttpServer;
+import com.syn.usermanagement.repository.UserRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * End-to-end pass over the main endpoints with S3 and the weather API stubbed.
+ * Also the smoke test for the native build: mvn -P nativeTest test
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ApiSmokeTest {
+
+    private static final HttpServer STUB = startStub();
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @DynamicPropertySource
+    static void stubEndpoints(DynamicPropertyRegistry registry) {
+        String baseUrl = "http://127.0.0.1:" + STUB.getAddress().getPort();
+        registry.add("aws.s3.endpoint", () -> baseUrl);
+        registry.add("weather.api.url", () -> baseUrl + "/current?query=Delhi");
+    }
+
+    @AfterAll
+    static void stopStub() {
+        STUB.stop(0);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void mainEndpointsWorkEndToEnd() {
+        // HttpURLConnection has no PATCH
+        rest.getRestTemplate().setRequestFactory(new JdkClientHttpRequestFactory());
+
+        Map<String, Object> credentials = Map.of("name", "Smoke", "email", "smoke@example.com", "password", "smoke-password");
+
+        ResponseEntity<Map> registered = rest.postForEntity("/api/auth/register", credentials, Map.class);
+        assertThat(registered.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        long id = ((Number) registered.getBody().get("id")).longValue();
+        assertThat(rest.postForEntity("/api/auth/register", credentials, Map.class).getStatusCode())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(storedHash()).startsWith("{bcrypt}");
+
+        // A retried registration with the same Idempotency-Key gets the first response back, minus the tokens
+        HttpHeaders idempotent = new HttpHeaders();
+        idempotent.set("Idempotency-Key", "retry-1");
+        Map<String, Object> retried = Map.of("name", "Retry", "email", "retry@example.com", "password", "retry-password");
+        ResponseEntity<Map> first = exchange("/api/auth/register", HttpMethod.POST, retried, idempotent);
+        ResponseEntity<Map> retry = exchange("/api/auth/register", HttpMethod.POST, retried, idempotent);
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(retry.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(retry.getHeaders().getFirst("Idempotent-Replayed")).isEqualTo("true");
+        assertThat(first.getBody()).containsKeys("token", "refreshToken");
+        assertThat(retry.getBody()).doesNotContainKeys("token", "refreshToken");
+        Map<String, Object> firstWithoutTokens = new HashMap<>(first.getBody());
+        firstWithoutTokens.keySet().removeAll(List.of("token", "refreshToken"));
+        assertThat(retry.getBody()).isEqualTo(firstWithoutTokens);
+        assertThat(exchange("/api/auth/register", HttpMethod.POST, credentials, idempotent).getStatusCode())
+                .isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+
+        // A hash from before prefixes existed still logs in, and is re-hashed by that login
+        transactionTemplate.executeWithoutResult(tx -> userRepository.updatePasswordByEmail("smoke@example.com",
+                new BCryptPasswordEncoder(4).encode("smoke-password")));
+
+        ResponseEntity<Map> login = rest.postForEntity("/api/auth/login",
+                Map.of("email", "smoke@example.com", "password", "smoke-password"), Map.class);
+        assertThat(login.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(storedHash()).startsWith("{bcrypt}");
+        HttpHeaders auth = new HttpHeaders();
+        auth.setBearerAuth((String) login.getBody().get("token"));
+
+        // Framework request errors keep their 4xx status, without parser details
+        HttpHeaders json = new HttpHeaders();
+        json.setContentType(MediaType.APPLICATION_JSON);
+        ResponseEntity<Map> malformed = exchange("/api/auth/login", HttpMethod.POST, "{\"email\":", json);
+        assertThat(malformed.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat((String) malformed.getBody().get("message")).doesNotContain("JSON");
+        assertThat(exchange("/api/users/abc", HttpMethod.GET, null, auth).getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(exchange("/api/auth/logout", HttpMethod.POST, null, null).getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(exchange("/api/users", HttpMethod.DELETE, null, auth).getStatusCode()).isEqualTo(HttpStatus.METHOD_NOT_ALLOWED);
+        assertThat(exchange("/api/no-such-route", HttpMethod.GET, null, auth).getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+
+        ResponseEntity<Map> page = exchange("/api/users?page=0&size=5", HttpMethod.GET, null, auth);
+        assertThat(page.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat((Iterable<Object>) page.getBody().get("content")).isNotEmpty();
+        assertThat(exchange("/api/users?sortBy=name&sortDir=desc", HttpMethod.GET, null, auth).getStatusCode())
+                .isEqualTo(HttpStatus.OK);
+        assertThat(exchange("/api/users?sortBy=password", HttpMethod.GET, null, auth).getStatusCode())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+
+        ResponseEntity<Map> batch = exchange("/api/users?ids=987654," + id + ",987654", HttpMethod.GET, null, auth);
+        assertThat(batch.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat((List<Map<String, Object>>) batch.getBody().get("users"))
+                .extracting(found -> found.get("email")).containsExactly("smoke@example.com");
+        assertThat((List<Object>) batch.getBody().get("missing")).containsExactly(987654);
+
+        ResponseEntity<Map> changes = exchange("/api/users/changes?limit=10", HttpMethod.GET, null, auth);
+        assertThat(changes.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(changes.getBody()).containsKeys("changes", "cursor", "hasMore");
+        assertThat(exchange("/api/users/changes?since=bogus", HttpMethod.GET, null, auth).getStatusCode())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+
+        ResponseEntity<Map> user = exchange("/api/users/" + id, HttpMethod.GET, null, auth);
+        assertThat(user.getBody()).containsEntry("email", "smoke@example.com");
+
+        String etag = user.getHeaders().getETag();
+        assertThat(etag).isNotNull();
+        HttpHeaders conditional = new HttpHeaders();
+        conditional.putAll(auth);
+        conditional.setIfNoneMatch(etag);
+        assertThat(exchange("/api/users/" + id, HttpMethod.GET, null, conditional).getStatusCode())
+                .isEqualTo(HttpStatus.NOT_MODIFIED);
+        HttpHeaders pageConditional = new HttpHeaders();
+        pageConditional.putAll(auth);
+        pageConditional.setIfNoneMatch(page.getHeaders().getETag());
+        assertThat(exchange("/api/users?page=0&size=5", HttpMethod.GET, null, pageConditional).getStatusCode())
+                .isEqualTo(HttpStatus.NOT_MODIFIED);
+
+        HttpHeaders ifMatch = new HttpHeaders();
+        ifMatch.putAll(auth);
+        ifMatch.setIfMatch(etag);
+        Map<String, Object> renamed = Map.of("name", "Smoke Renamed", "email", "smoke@example.com", "password", "smoke-password");
+        ResponseEntity<Map> updated = exchange("/api/users/" + id, HttpMethod.PUT, renamed, ifMatch);
+        assertThat(updated.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(updated.getHeaders().getETag()).isNotEqualTo(etag);
+        assertThat(exchange("/api/users/" + id, HttpMethod.PUT, renamed, ifMatch).getStatusCode())
+                .isEqualTo(HttpStatus.PRECONDITION_FAILED);
+        assertThat(exchange("/api/users/" + id, HttpMethod.GET, null, conditional).getStatusCode())
+                .isEqualTo(HttpStatus.OK);
+
+        ResponseEntity<Map> patched = exchange("/api/users/" + id, HttpMethod.PATCH, Map.of("name", "Smoke Patched"), auth);
+        assertThat(patched.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(patched.getBody()).containsEntry("name", "Smoke Patched").containsEntry("email", "smoke@example.com");
+        assertThat(exchange("/api/users/" + id, HttpMethod.PATCH, Map.of("email", "not-an-email"), auth).getStatusCode())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+
+        ResponseEntity<Map> missing = exchange("/api/users/999999", HttpMethod.GET, null, auth);
+        assertThat(missing.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(missing.getBody()).containsEntry("message", "User not found with id: 999999");
+        assertThat(exchange("/api/users", HttpMethod.POST, credentials, auth).getStatusCode())
+                .isEqualTo(HttpStatus.CONFLICT);
+
+        ResponseEntity<Map> weather = exchange("/api/users/weather", HttpMethod.GET, null, auth);
+        assertThat(weather.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat((Map<String, Object>) weather.getBody().get("current")).containsEntry("temperature", 31);
+
+        MultiValueMap<String, Object> form = new LinkedMultiValueMap<>();
+        form.add("file", new ByteArrayResource(new byte[]{(byte) 0x89, 'P', 'N', 'G'}) {
+            @Override
+            public String getFilename() {
+                return "avatar.png";
+            }
+        });
+        HttpHeaders multipart = new HttpHeaders();
+        multipart.putAll(auth);
+        multipart.setContentType(MediaType.MULTIPART_FORM_DATA);
+        ResponseEntity<Map> photo = exchange("/api/users/" + id + "/photo", HttpMethod.POST, form, multipart);
+        assertThat(photo.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat((String) photo.getBody().get("photoUrl")).contains("photos/user_" + id);
+
+        String refreshToken = (String) login.getBody().get("refreshToken");
+        ResponseEntity<Map> refreshed = rest.postForEntity("/api/auth/refresh", Map.of("refreshToken", refreshToken), Map.class);
+        assertThat(refreshed.getStatusCode()).isEqualTo(HttpStatus.OK);
+        String rotated = (String) refreshed.getBody().get("refreshToken");
+        assertThat(rotated).isNotEqualTo(refreshToken);
+        // Reusing a rotated token revokes the whole family, including the newest token
+        assertThat(rest.postForEntity("/api/auth/refresh", Map.of("refreshToken", refreshToken), Map.class).getStatusCode())
+                .isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(rest.postForEntity("/api/auth/refresh", Map.of("refreshToken", rotated), Map.class).getStatusCode())
+                .isEqualTo(HttpStatus.UNAUTHORIZED);
+
+        String token = (String) login.getBody().get("token");
+        // Introspection is for services holding client credentials, not for anyone with a token
+        assertThat(rest.postForEntity("/api/auth/introspect", Map.of("tokens", List.of(token)), Map.class)
+                .getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(rest.withBasicAuth("gateway", "wrong-secret").postForEntity("/api/auth/introspect",
+                Map.of("tokens", List.of(token)), Map.class).getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        ResponseEntity<Map> introspected = introspectionClient().postForEntity("/api/auth/introspect",
+                Map.of("tokens", List.of(token, "not-a-token", token)), Map.class);
+        assertThat(introspected.getStatusCode()).isEqualTo(HttpStatus.OK);
+        List<Map<String, Object>> results = (List<Map<String, Object>>) introspected.getBody().get("results");
+        assertThat(results).hasSize(3);
+        assertThat(results.get(0)).containsEntry("active", true).containsEntry("sub", "smoke@example.com")
+                .containsEntry("role", "USER").containsKey("exp");
+        assertThat(results.get(1)).containsOnly(Map.entry("active", false));
+        assertThat(results.get(2)).isEqualTo(results.get(0));
+
+        ResponseEntity<Map> logout = exchange("/api/auth/logout", HttpMethod.POST, null, auth);
+        assertThat(logout.getStatusCode()).isEqualTo(HttpStatus.OK);
+        // Logout evicts the cached result
+        assertThat(introspect(token)).containsEntry("active", false);
+
+        ResponseEntity<String> afterLogout = rest.exchange("/api/users/" + id, HttpMethod.GET,
+                new HttpEntity<>(auth), String.class);
+        assertThat(afterLogout.getStatusCode().is4xxClientError()).isTrue();
+
+        // A password change revokes every session issued before it, through the user's token epoch
+        ResponseEntity<Map> relogin = rest.postForEntity("/api/auth/login",
+                Map.of("email", "smoke@example.com", "password", "smoke-password"), Map.class);
+        HttpHeaders session = new HttpHeaders();
+        session.setBearerAuth((String) relogin.getBody().get("token"));
+        assertThat(introspect((String) relogin.getBody().get("token"))).containsEntry("active", true);
+        assertThat(exchange("/api/users/" + id, HttpMethod.PATCH, Map.of("password", "new-smoke-password"), session)
+                .getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(introspect((String) relogin.getBody().get("token"))).containsEntry("active", false);
+        assertThat(rest.exchange("/api/users/" + id, HttpMethod.GET, new HttpEntity<>(session), String.class)
+                .getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(rest.postForEntity("/api/auth/refresh",
+                Map.of("refreshToken", relogin.getBody().get("refreshToken")), Map.class).getStatusCode())
+                .isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(rest.postForEntity("/api/auth/login",
+                Map.of("email", "smoke@example.com", "password", "new-smoke-password"), Map.class).getStatusCode())
+                .isEqualTo(HttpStatus.OK);
+    }
+
+    private Map<String, Object> introspect(String token) {
+        Map<String, Object> body = introspectionClient().postForEntity("/api/auth/introspect",
+                Map.of("tokens", List.of(token)), Map.class).getBody();
+        return ((List<Map<String, Object>>) body.get("results")).get(0);
+    }
+
+    private TestRestTemplate introspectionClient() {
+        return rest.withBasicAuth("gateway", "gateway-secret");
+    }
+
+    private String storedHash() {
+        return userRepository.findByEmail("smoke@example.com").orElseThrow().getPassword();
+    }
+
+    private ResponseEntity<Map> exchange(String path, HttpMethod method, Object body, HttpHeaders headers) {
+        return rest.exchange(path, method, new HttpEntity<>(body, headers), Map.class);
+    }
+
+    private static HttpServer startStub() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+            byte[] weather = "{\"location\":{\"name\":\"Delhi\"},\"current\":{\"temperature\":31,\"is_day\":\"yes\"}}"
+                    .getBytes(StandardCharsets.UTF_8);
+            server.createContext("/current", exchange -> {
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, weather.length);
+                exchange.getResponseBody().write(weather);
+                exchange.close();
+            });
+            // S3 PutObject / DeleteObject, path-style
+            server.createContext("/", exchange -> {
+                try (InputStream in = exchange.getRequestBody()) {
+                    in.transferTo(OutputStream.nullOutputStream());
+                }
+                exchange.sendResponseHeaders(exchange.getRequestMethod().equals("DELETE") ? 204 : 200, -1);
+                exchange.close();
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
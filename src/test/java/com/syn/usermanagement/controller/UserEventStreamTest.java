@@ -0,0 +1,79 @@
+package com.syn.usermanagement.controller;
+
+import com.syn.usermanagement.entity.User;
+import com.syn.usermanagement.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The admin event stream over a real connection: committed user changes are
+ * pushed, and the stream ends cleanly when it times out.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "users.stream.timeout-ms=3000")
+class UserEventStreamTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    @Autowired
+    private UserService userService;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void pushesCommittedUserChangesToAdmins() throws Exception {
+        userService.createUser(newUser("stream-admin@example.com", User.Role.ADMIN));
+        Map<String, Object> login = rest.postForObject("/api/auth/login",
+                Map.of("email", "stream-admin@example.com", "password", "stream-password"), Map.class);
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/admin/users/stream"))
+                .header("Accept", "text/event-stream")
+                .header("Authorization", "Bearer " + login.get("token"))
+                .build();
+        HttpResponse<Stream<String>> response = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofLines());
+        assertThat(response.statusCode()).isEqualTo(200);
+
+        BlockingQueue<String> lines = new LinkedBlockingQueue<>();
+        CompletableFuture<Void> reader = CompletableFuture.runAsync(() -> response.body().forEach(lines::add));
+
+        userService.createUser(newUser("stream-signup@example.com", User.Role.USER));
+
+        String line;
+        do {
+            line = lines.poll(5, TimeUnit.SECONDS);
+            assertThat(line).as("user event").isNotNull();
+        } while (!line.equals("event:user"));
+        assertThat(lines.poll(5, TimeUnit.SECONDS)).startsWith("data:").contains("stream-signup@example.com");
+
+        // Server-side timeout closes the stream
+        reader.get(10, TimeUnit.SECONDS);
+    }
+
+    private static User newUser(String email, User.Role role) {
+        User user = new User();
+        user.setName("Stream");
+        user.setEmail(email);
+        user.setPassword("stream-password");
+        user.setRole(role);
+        return user;
+    }
+}
@@ -0,0 +1,88 @@
+package com.syn.usermanagement.filter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long MS = 1_000_000;
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(
+            new AdmissionControlProperties.GroupLimits(4, 2, 8), new AdmissionControlProperties(), clock::get);
+
+    @Test
+    void rejectsBeyondTheLimit() {
+        for (int i = 0; i < 4; i++) {
+            assertThat(limit.tryAcquire()).isTrue();
+        }
+        assertThat(limit.tryAcquire()).isFalse();
+
+        limit.release(10 * MS, false);
+        assertThat(limit.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void growsWhileFastAndBusyThenBacksOffWhenLatencyRises() {
+        // Full use at baseline latency - grows up to the max
+        for (int i = 0; i < 20; i++) {
+            fill();
+            drain(10 * MS);
+        }
+        assertThat(limit.getLimit()).isEqualTo(8);
+
+        // The database slows down: latency goes well above 2x baseline
+        for (int i = 0; i < 20; i++) {
+            fill();
+            drain(200 * MS);
+        }
+        assertThat(limit.getLimit()).isEqualTo(2);
+    }
+
+    @Test
+    void cacheHitsMixedWithDatabaseReadsDoNotCollapseTheLimit() {
+        // Every other read is a sub-ms cached 304, the rest take 12 ms on the database
+        for (int i = 0; i < 20; i++) {
+            fill();
+            drain(MS / 4, 12 * MS);
+        }
+        assertThat(limit.getLimit()).isEqualTo(8);
+
+        // The database slows down - the mix still backs off
+        for (int i = 0; i < 20; i++) {
+            fill();
+            drain(MS / 4, 100 * MS);
+        }
+        assertThat(limit.getLimit()).isEqualTo(2);
+    }
+
+    @Test
+    void overloadStatusShrinksTheLimit() {
+        limit.tryAcquire();
+        limit.release(1 * MS, true);
+        assertThat(limit.getLimit()).isEqualTo(3);
+    }
+
+    private void fill() {
+        while (limit.tryAcquire()) {
+            // take every free slot
+        }
+    }
+
+    private void drain(long rttNanos) {
+        drain(rttNanos, rttNanos);
+    }
+
+    // Alternates the two latencies, request by request
+    private void drain(long firstRttNanos, long secondRttNanos) {
+        boolean first = true;
+        while (limit.getInflight() > 0) {
+            clock.addAndGet(MS);
+            limit.release(first ? firstRttNanos : secondRttNanos, false);
+            first = !first;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.syn.usermanagement.filter;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdmissionControlFilterTest {
+
+    @Test
+    void routesOfDifferentLatencyClassesGetTheirOwnGroup() {
+        assertThat(group("POST", "/api/auth/login")).isEqualTo("credentials");
+        assertThat(group("POST", "/api/auth/register")).isEqualTo("credentials");
+        assertThat(group("POST", "/api/auth/refresh")).isEqualTo("token");
+        assertThat(group("POST", "/api/auth/introspect")).isEqualTo("token");
+        assertThat(group("POST", "/api/users/7/photo")).isEqualTo("photo");
+        assertThat(group("DELETE", "/api/users/7/photo")).isEqualTo("photo");
+        assertThat(group("PATCH", "/api/users/7")).isEqualTo("write");
+        assertThat(group("GET", "/api/users/7/photo")).isEqualTo("read");
+        assertThat(group("GET", "/api/users/weather")).isEqualTo("outbound");
+    }
+
+    private static String group(String method, String uri) {
+        return AdmissionControlFilter.groupOf(new MockHttpServletRequest(method, uri));
+    }
+}
@@ -0,0 +1,46 @@
+package com.syn.usermanagement.repository;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A database created by the last release (hibernate.ddl-auto=update, no Flyway
+ * history) is baselined at V1 and brought up to date by V2 onward.
+ */
+class FlywayBaselineTest {
+
+    @Test
+    void releasedSchemaIsBaselinedAndMigrated() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:released;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("create table users (id bigint not null auto_increment, email varchar(255) not null, "
+                + "name varchar(255) not null, password varchar(255) not null, photo_url varchar(255), "
+                + "role enum ('USER','ADMIN') not null, primary key (id), constraint UK_6dotkott2kjsp8vw4d0m25fb7 unique (email))");
+        jdbc.execute("create table blacklisted_tokens (blacklisted_at datetime(6) not null, expires_at datetime(6) not null, "
+                + "id bigint not null auto_increment, token varchar(500) not null unique, primary key (id))");
+        jdbc.update("insert into users (email, name, password, role) values ('released@example.com', 'Released', 'x', 'USER')");
+
+        MigrateResult result = Flyway.configure()
+                .dataSource(dataSource)
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load()
+                .migrate();
+
+        assertThat(result.migrations).isNotEmpty()
+                .allSatisfy(migration -> assertThat(migration.version).isNotEqualTo("1"));
+        Map<String, Object> user = jdbc.queryForMap("select version, tokens_valid_after from users");
+        assertThat(user.get("VERSION")).isEqualTo(0L);
+        assertThat(user.get("TOKENS_VALID_AFTER")).isNull();
+        assertThat(jdbc.queryForObject("select count(*) from user_changes", Integer.class)).isEqualTo(1);
+        assertThat(jdbc.queryForObject("select count(*) from refresh_tokens", Integer.class)).isZero();
+    }
+}
@@ -0,0 +1,144 @@
+package com.syn.usermanagement.security;
+
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtKeyProviderTest {
+
+    private static final String SECRET = "dGhpc0lzQVZlcnlMb25nU2VjcmV0S2V5Rm9ySldUVG9rZW5HZW5lcmF0aW9uMTIzNDU2Nzg5MA==";
+
+    private final UserDetails user = new User("jwks@example.com", "ignored", List.of(new SimpleGrantedAuthority("ROLE_USER")));
+
+    @Test
+    void rotatedKeysKeepVerifyingAndArePublished() throws Exception {
+        KeyPair oldKey = newKeyPair();
+        KeyPair newKey = newKeyPair();
+
+        JwtUtils beforeRotation = jwtUtils(signing("2024-01", key("2024-01", oldKey, true)));
+        String oldToken = beforeRotation.generateToken(7L, user);
+
+        // New key active, old key kept for verification only
+        JwtSigningProperties rotated = signing("2024-06", key("2024-06", newKey, true), key("2024-01", oldKey, false));
+        JwtKeyProvider provider = new JwtKeyProvider(SECRET, rotated);
+        JwtUtils afterRotation = jwtUtils(provider);
+        String newToken = afterRotation.generateToken(7L, user);
+
+        assertThat(afterRotation.extractUsername(oldToken)).isEqualTo("jwks@example.com");
+        assertThat(afterRotation.extractUsername(newToken)).isEqualTo("jwks@example.com");
+        assertThat(header(newToken)).contains("\"kid\":\"2024-06\"").contains("\"alg\":\"ES256\"");
+        assertThat(header(oldToken)).contains("\"kid\":\"2024-01\"");
+
+        List<Map<String, Object>> keys = (List<Map<String, Object>>) provider.getJwks().get("keys");
+        assertThat(keys).extracting(key -> key.get("kid")).containsExactly("2024-06", "2024-01");
+        assertThat(keys).allSatisfy(key -> {
+            assertThat(key.get("kty")).isEqualTo("EC");
+            assertThat(key).doesNotContainKey("d");
+        });
+
+        // Once the old key is dropped its tokens stop verifying
+        JwtUtils retired = jwtUtils(signing("2024-06", key("2024-06", newKey, true)));
+        assertThatThrownBy(() -> retired.extractUsername(oldToken)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void scheduledKeyIsPublishedFirstAndSignsOnceActivated() throws Exception {
+        KeyPair currentKey = newKeyPair();
+        KeyPair nextKey = newKeyPair();
+
+        // Phase 1: the next key is in the JWKS while the current one still signs
+        JwtSigningProperties.SigningKey pending = key("2024-12", nextKey, true);
+        pending.setActivateAt(Instant.now().plusSeconds(3600));
+        JwtKeyProvider published = new JwtKeyProvider(SECRET, signing("2024-06", key("2024-06", currentKey, true), pending));
+
+        List<Map<String, Object>> keys = (List<Map<String, Object>>) published.getJwks().get("keys");
+        assertThat(keys).extracting(key -> key.get("kid")).containsExactly("2024-06", "2024-12");
+        assertThat(header(jwtUtils(published).generateToken(7L, user))).contains("\"kid\":\"2024-06\"");
+
+        // Phase 2: past activate-at every node signs with it
+        JwtSigningProperties.SigningKey due = key("2024-12", nextKey, true);
+        due.setActivateAt(Instant.now().minusSeconds(1));
+        JwtUtils activated = jwtUtils(signing("2024-06", key("2024-06", currentKey, true), due));
+        String token = activated.generateToken(7L, user);
+        assertThat(header(token)).contains("\"kid\":\"2024-12\"");
+        assertThat(jwtUtils(published).extractUsername(token)).isEqualTo("jwks@example.com");
+
+        JwtSigningProperties.SigningKey withoutPrivateKey = key("2024-12", nextKey, false);
+        withoutPrivateKey.setActivateAt(Instant.now());
+        assertThatThrownBy(() -> new JwtKeyProvider(SECRET, signing("2024-06", key("2024-06", currentKey, true), withoutPrivateKey)))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void activateAtBindsFromAnIsoInstant() {
+        JwtSigningProperties bound = new Binder(new MapConfigurationPropertySource(Map.of(
+                "jwt.signing.keys[0].kid", "2024-12",
+                "jwt.signing.keys[0].activate-at", "2024-12-01T00:00:00Z")))
+                .bind("jwt.signing", JwtSigningProperties.class).get();
+
+        assertThat(bound.getKeys().get(0).getActivateAt()).isEqualTo(Instant.parse("2024-12-01T00:00:00Z"));
+    }
+
+    @Test
+    void hmacModePublishesNothing() {
+        JwtKeyProvider provider = new JwtKeyProvider(SECRET, new JwtSigningProperties());
+
+        assertThat((List<?>) provider.getJwks().get("keys")).isEmpty();
+        assertThat(jwtUtils(provider).extractUsername(jwtUtils(provider).generateToken(user))).isEqualTo("jwks@example.com");
+    }
+
+    private static String header(String token) {
+        return new String(Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.'))), StandardCharsets.UTF_8);
+    }
+
+    private static JwtUtils jwtUtils(JwtSigningProperties signing) {
+        return jwtUtils(new JwtKeyProvider(SECRET, signing));
+    }
+
+    private static JwtUtils jwtUtils(JwtKeyProvider provider) {
+        JwtUtils jwtUtils = new JwtUtils(provider);
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpiration", 60000L);
+        return jwtUtils;
+    }
+
+    private static JwtSigningProperties signing(String activeKid, JwtSigningProperties.SigningKey... keys) {
+        JwtSigningProperties signing = new JwtSigningProperties();
+        signing.setAlgorithm("ES256");
+        signing.setActiveKid(activeKid);
+        signing.setKeys(List.of(keys));
+        return signing;
+    }
+
+    private static JwtSigningProperties.SigningKey key(String kid, KeyPair keyPair, boolean withPrivateKey) {
+        JwtSigningProperties.SigningKey key = new JwtSigningProperties.SigningKey();
+        key.setKid(kid);
+        key.setPublicKey(Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded()));
+        if (withPrivateKey) {
+            key.setPrivateKey(Base64.getMimeEncoder().encodeToString(keyPair.getPrivate().getEncoded()));
+        }
+        return key;
+    }
+
+    private static KeyPair newKeyPair() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        return generator.generateKeyPair();
+    }
+}
@@ -0,0 +1,41 @@
+package com.syn.usermanagement.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PasswordHashingTest {
+
+    @Test
+    void legacyAndWeakerHashesMatchAndAskForUpgrade() {
+        PasswordEncoder encoder = PasswordHashing.encoder(5);
+
+        String current = encoder.encode("secret");
+        assertThat(current).startsWith("{bcrypt}$2a$05$");
+        assertThat(encoder.matches("secret", current)).isTrue();
+        assertThat(encoder.upgradeEncoding(current)).isFalse();
+
+        // Stored before hashes were prefixed
+        String legacy = new BCryptPasswordEncoder(5).encode("secret");
+        assertThat(encoder.matches("secret", legacy)).isTrue();
+        assertThat(encoder.upgradeEncoding(legacy)).isTrue();
+
+        String weaker = PasswordHashing.encoder(4).encode("secret");
+        assertThat(encoder.matches("secret", weaker)).isTrue();
+        assertThat(encoder.upgradeEncoding(weaker)).isTrue();
+
+        // Hashes above the fleet strength are never re-hashed down (or up past it)
+        String stronger = PasswordHashing.encoder(6).encode("secret");
+        assertThat(encoder.matches("secret", stronger)).isTrue();
+        assertThat(encoder.upgradeEncoding(stronger)).isFalse();
+    }
+
+    @Test
+    void calibrationStaysWithinBounds() {
+        assertThat(PasswordHashing.calibrateBcryptStrength(1, 4, 6)).isEqualTo(4);
+        assertThat(PasswordHashing.calibrateBcryptStrength(60_000, 4, 7)).isEqualTo(7);
+        assertThat(PasswordHashing.calibrateBcryptStrength(20, 4, 31)).isBetween(4, 31);
+    }
+}
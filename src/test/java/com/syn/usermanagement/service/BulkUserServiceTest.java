@@ -0,0 +1,164 @@
+package com.syn.usermanagement.service;
+
+import com.syn.usermanagement.dto.BulkJobStatus;
+import com.syn.usermanagement.dto.BulkRoleChangeRequest;
+import com.syn.usermanagement.dto.BulkUserRequest;
+import com.syn.usermanagement.entity.User;
+import com.syn.usermanagement.repository.OutboxEventRepository;
+import com.syn.usermanagement.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.aot.DisabledInAotMode;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+
+// @MockBean is not supported in native tests
+@DisabledInAotMode
+@SpringBootTest(properties = {"admin.bulk.chunk-size=2", "admin.bulk.chunk-pause-ms=0"})
+class BulkUserServiceTest {
+
+    @Autowired
+    private BulkUserService bulkUserService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @MockBean
+    private S3Service s3Service;
+
+    // Stub broker - the relay is not under test here
+    @MockBean
+    private MessageProducer messageProducer;
+
+    @BeforeEach
+    void cleanUp() {
+        outboxEventRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void deleteByFilterRunsInChunksAndCollectsFailedPhotos() throws InterruptedException {
+        for (int i = 0; i < 5; i++) {
+            userRepository.save(newUser("old" + i + "@old.example.com", i < 2 ? "https://bucket/photo" + i : null, User.Role.USER));
+        }
+        User kept = userRepository.save(newUser("kept@keep.example.com", null, User.Role.USER));
+        doThrow(new RuntimeException("S3 down")).when(s3Service).deleteFile("https://bucket/photo1");
+
+        BulkUserRequest request = new BulkUserRequest();
+        request.setEmailDomain("old.example.com");
+        BulkJobStatus job = awaitFinished(bulkUserService.submitDelete(request));
+
+        assertThat(job.state()).isEqualTo("COMPLETED");
+        assertThat(job.matched()).isEqualTo(5);
+        assertThat(job.processed()).isEqualTo(5);
+        assertThat(job.affected()).isEqualTo(5);
+        assertThat(job.photosDeleted()).isEqualTo(1);
+        assertThat(job.failedPhotoUrls()).containsExactly("https://bucket/photo1");
+        verify(s3Service).deleteFile("https://bucket/photo0");
+
+        assertThat(userRepository.findAll()).extracting(User::getId).containsExactly(kept.getId());
+        assertThat(outboxEventRepository.findAll())
+                .hasSize(5)
+                .allSatisfy(event -> assertThat(event.getEventType()).isEqualTo("DELETED"));
+    }
+
+    @Test
+    void roleChangeByIdsSkipsUsersAlreadyInRoleAndBumpsVersions() throws InterruptedException {
+        User first = userRepository.save(newUser("first@example.com", null, User.Role.USER));
+        User second = userRepository.save(newUser("second@example.com", null, User.Role.USER));
+        User admin = userRepository.save(newUser("admin@example.com", null, User.Role.ADMIN));
+
+        BulkRoleChangeRequest request = new BulkRoleChangeRequest();
+        request.setIds(List.of(first.getId(), second.getId(), admin.getId(), first.getId()));
+        request.setNewRole(User.Role.ADMIN);
+        BulkJobStatus job = awaitFinished(bulkUserService.submitRoleChange(request));
+
+        assertThat(job.state()).isEqualTo("COMPLETED");
+        assertThat(job.processed()).isEqualTo(3);
+        assertThat(job.affected()).isEqualTo(2);
+
+        User updated = userRepository.findById(first.getId()).orElseThrow();
+        assertThat(updated.getRole()).isEqualTo(User.Role.ADMIN);
+        assertThat(updated.getVersion()).isEqualTo(first.getVersion() + 1);
+        assertThat(userRepository.findById(admin.getId()).orElseThrow().getVersion()).isEqualTo(admin.getVersion());
+        assertThat(outboxEventRepository.findAll())
+                .filteredOn(event -> event.getAggregateId().equals(first.getId()))
+                .singleElement()
+                .satisfies(event -> assertThat(event.getPayload()).contains("\"version\":" + updated.getVersion()));
+        assertThat(outboxEventRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void chunkRowsStayLockedUntilTheChunkCommits() throws Exception {
+        User user = userRepository.save(newUser("locked@example.com", null, User.Role.USER));
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService chunk = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> holder = chunk.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                userRepository.findBulkRowsByIds(List.of(user.getId()));
+                locked.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            assertThat(locked.await(10, TimeUnit.SECONDS)).isTrue();
+
+            // A single-user write cannot land between the chunk's read and its bulk statement - it waits
+            Future<?> write = chunk.submit(() -> transactionTemplate.executeWithoutResult(status ->
+                    userRepository.updatePasswordByEmail("locked@example.com", "changed")));
+            Thread.sleep(300);
+            assertThat(write.isDone()).isFalse();
+
+            release.countDown();
+            holder.get(10, TimeUnit.SECONDS);
+            write.get(10, TimeUnit.SECONDS);
+            assertThat(userRepository.findById(user.getId()).orElseThrow().getPassword()).isEqualTo("changed");
+        } finally {
+            release.countDown();
+            chunk.shutdownNow();
+        }
+    }
+
+    private BulkJobStatus awaitFinished(BulkJobStatus submitted) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            BulkJobStatus job = bulkUserService.getJob(submitted.jobId());
+            if (job.finishedAt() != null) {
+                return job;
+            }
+            Thread.sleep(100);
+        }
+        throw new AssertionError("Bulk job did not finish: " + submitted.jobId());
+    }
+
+    private static User newUser(String email, String photoUrl, User.Role role) {
+        User user = new User();
+        user.setName("Bulk");
+        user.setEmail(email);
+        user.setPassword("password");
+        user.setPhotoUrl(photoUrl);
+        user.setRole(role);
+        return user;
+    }
+}
@@ -0,0 +1,93 @@
+package com.syn.usermanagement.service;
+
+import com.syn.usermanagement.exception.IdempotencyKeyException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdempotencyServiceTest {
+
+    private IdempotencyService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new IdempotencyService(null);
+        ReflectionTestUtils.setField(service, "ttlMs", 60_000L);
+        ReflectionTestUtils.setField(service, "maxEntries", 100);
+        ReflectionTestUtils.setField(service, "waitTimeoutMs", 5_000L);
+        ReflectionTestUtils.setField(service, "store", "memory");
+    }
+
+    @Test
+    void duplicateWaitsForTheFirstRequestAndGetsItsResponse() throws Exception {
+        assertThat(service.begin("key", "body")).isNull();
+
+        CompletableFuture<IdempotencyService.StoredResponse> duplicate =
+                CompletableFuture.supplyAsync(() -> service.begin("key", "body"));
+        Thread.sleep(100);
+        assertThat(duplicate).isNotDone();
+
+        IdempotencyService.StoredResponse response = new IdempotencyService.StoredResponse(
+                201, "application/json", "{\"id\":1}".getBytes(StandardCharsets.UTF_8));
+        service.complete("key", response);
+
+        assertThat(duplicate.get(1, TimeUnit.SECONDS)).isEqualTo(response);
+        assertThat(service.begin("key", "body")).isEqualTo(response);
+        assertThatThrownBy(() -> service.begin("key", "other body"))
+                .isInstanceOf(IdempotencyKeyException.class);
+    }
+
+    @Test
+    void releasedKeyLetsTheWaitingDuplicateRun() throws Exception {
+        assertThat(service.begin("key", "body")).isNull();
+
+        CompletableFuture<IdempotencyService.StoredResponse> duplicate =
+                CompletableFuture.supplyAsync(() -> service.begin("key", "body"));
+        Thread.sleep(100);
+        service.release("key");
+
+        // The duplicate now owns the key and runs the request itself
+        assertThat(duplicate.get(1, TimeUnit.SECONDS)).isNull();
+    }
+
+    @Test
+    void fullStoreEvictsTheOldestCompletedKeysInsteadOfSkippingDedup() {
+        ReflectionTestUtils.setField(service, "maxEntries", 3);
+        IdempotencyService.StoredResponse response = new IdempotencyService.StoredResponse(
+                201, "application/json", "{}".getBytes(StandardCharsets.UTF_8));
+        assertThat(service.begin("running", "body")).isNull();
+        for (String key : new String[] {"oldest", "newer"}) {
+            assertThat(service.begin(key, "body")).isNull();
+            service.complete(key, response);
+        }
+
+        // Full: the oldest completed key makes room, the running one is kept
+        assertThat(service.begin("new", "body")).isNull();
+        service.complete("new", response);
+        assertThat(service.begin("new", "body")).isEqualTo(response);
+        assertThat(service.begin("newer", "body")).isEqualTo(response);
+        assertThat(service.begin("oldest", "body")).isNull();
+    }
+
+    @Test
+    void fullStoreOfRunningRequestsIsRejected() {
+        ReflectionTestUtils.setField(service, "maxEntries", 2);
+        assertThat(service.begin("first", "body")).isNull();
+        assertThat(service.begin("second", "body")).isNull();
+
+        assertThatThrownBy(() -> service.begin("third", "body"))
+                .isInstanceOf(IdempotencyKeyException.class)
+                .extracting("status").isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+
+        service.complete("first", new IdempotencyService.StoredResponse(200, null, new byte[0]));
+        assertThat(service.begin("third", "body")).isNull();
+    }
+}
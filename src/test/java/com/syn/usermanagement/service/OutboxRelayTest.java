@@ -0,0 +1,139 @@
+package com.syn.usermanagement.service;
+
+import com.syn.usermanagement.entity.OutboxEvent;
+import com.syn.usermanagement.entity.SchedulerLease;
+import com.syn.usermanagement.entity.User;
+import com.syn.usermanagement.repository.OutboxEventRepository;
+import com.syn.usermanagement.repository.SchedulerLeaseRepository;
+import com.syn.usermanagement.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.amqp.AmqpException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.aot.DisabledInAotMode;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+// @MockBean is not supported in native tests
+@DisabledInAotMode
+@SpringBootTest
+class OutboxRelayTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SchedulerLeaseRepository schedulerLeaseRepository;
+
+    // Stub broker - stands in for RabbitMQ publisher confirms
+    @MockBean
+    private MessageProducer messageProducer;
+
+    @BeforeEach
+    void cleanUp() {
+        outboxEventRepository.deleteAll();
+        userRepository.deleteAll();
+        schedulerLeaseRepository.deleteAll();
+    }
+
+    @Test
+    void userChangesAreRecordedAndPublishedInOrder() {
+        User user = userService.createUser(newUser("outbox@example.com"));
+        User details = newUser("outbox@example.com");
+        details.setName("Renamed");
+        userService.updateUser(user.getId(), details);
+        userService.deleteUser(user.getId());
+
+        assertThat(outboxEventRepository.count()).isEqualTo(3);
+
+        assertThat(outboxRelay.relayBatch()).isEqualTo(3);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<OutboxEvent>> captor = ArgumentCaptor.forClass(List.class);
+        verify(messageProducer).publishConfirmed(captor.capture());
+        assertThat(captor.getValue())
+                .extracting(OutboxEvent::getEventType)
+                .containsExactly("CREATED", "UPDATED", "DELETED");
+        assertThat(captor.getValue().get(0).getPayload()).doesNotContain("secret");
+        assertThat(outboxEventRepository.count()).isZero();
+    }
+
+    @Test
+    void unconfirmedBatchStaysInOutbox() {
+        userService.createUser(newUser("unconfirmed@example.com"));
+        doThrow(new AmqpException("nack")).when(messageProducer).publishConfirmed(anyList());
+
+        assertThatThrownBy(() -> outboxRelay.relayBatch()).isInstanceOf(AmqpException.class);
+
+        assertThat(outboxEventRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void onlyTheLeaseHolderRelays() {
+        userService.createUser(newUser("lease@example.com"));
+        schedulerLeaseRepository.save(new SchedulerLease(OutboxRelay.RELAY_LEASE, "other-node",
+                LocalDateTime.now().plusMinutes(10)));
+
+        outboxRelay.relay();
+
+        verify(messageProducer, never()).publishConfirmed(anyList());
+        assertThat(outboxEventRepository.count()).isEqualTo(1);
+
+        // The holder stopped renewing - this node takes over
+        schedulerLeaseRepository.save(new SchedulerLease(OutboxRelay.RELAY_LEASE, "other-node",
+                LocalDateTime.now().minusSeconds(1)));
+        outboxRelay.relay();
+
+        verify(messageProducer).publishConfirmed(anyList());
+        assertThat(outboxEventRepository.count()).isZero();
+    }
+
+    @Test
+    void throttledBatchesCoalesceSupersededUpdates() {
+        List<OutboxEvent> batch = List.of(
+                event(1L, 7L, "CREATED"),
+                event(2L, 7L, "UPDATED"),
+                event(3L, 8L, "UPDATED"),
+                event(4L, 7L, "UPDATED"),
+                event(5L, 7L, "PHOTO_UPDATED"),
+                event(6L, 7L, "UPDATED"));
+
+        assertThat(OutboxRelay.coalesce(batch))
+                .extracting(OutboxEvent::getId)
+                .containsExactly(1L, 3L, 5L, 6L);
+    }
+
+    private OutboxEvent event(Long id, Long userId, String type) {
+        OutboxEvent event = new OutboxEvent(userId, type, "{}");
+        event.setId(id);
+        return event;
+    }
+
+    private User newUser(String email) {
+        User user = new User();
+        user.setName("Outbox User");
+        user.setEmail(email);
+        user.setPassword("secret");
+        return user;
+    }
+}
@@ -0,0 +1,79 @@
+package com.syn.usermanagement.service;
+
+import com.syn.usermanagement.entity.BlacklistedToken;
+import com.syn.usermanagement.entity.SchedulerLease;
+import com.syn.usermanagement.repository.BlacklistedTokenRepository;
+import com.syn.usermanagement.repository.SchedulerLeaseRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {"jwt.blacklist-cleanup-chunk-size=2", "jwt.blacklist-cleanup-pause-ms=0"})
+class TokenBlacklistServiceTest {
+
+    @Autowired
+    private TokenBlacklistService tokenBlacklistService;
+
+    @Autowired
+    private BlacklistedTokenRepository blacklistedTokenRepository;
+
+    @Autowired
+    private SchedulerLeaseRepository schedulerLeaseRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void cleanUp() {
+        blacklistedTokenRepository.deleteAll();
+        schedulerLeaseRepository.deleteAll();
+    }
+
+    @Test
+    void cleanupDeletesExpiredTokensInChunks() {
+        for (int i = 0; i < 5; i++) {
+            blacklist("expired-" + i, LocalDateTime.now().minusMinutes(i + 1));
+        }
+        blacklist("live", LocalDateTime.now().plusMinutes(5));
+        double deletedBefore = deletedCount();
+
+        tokenBlacklistService.cleanupExpiredTokens();
+
+        assertThat(blacklistedTokenRepository.findAll()).extracting(BlacklistedToken::getToken).containsExactly("live");
+        assertThat(deletedCount() - deletedBefore).isEqualTo(5);
+        assertThat(meterRegistry.timer("blacklist.cleanup.duration").count()).isPositive();
+    }
+
+    @Test
+    void onlyTheLeaseHolderCleansUp() {
+        blacklist("expired", LocalDateTime.now().minusMinutes(1));
+        schedulerLeaseRepository.save(new SchedulerLease(TokenBlacklistService.CLEANUP_LEASE, "other-node",
+                LocalDateTime.now().plusMinutes(10)));
+
+        tokenBlacklistService.cleanupExpiredTokens();
+        assertThat(blacklistedTokenRepository.count()).isEqualTo(1);
+
+        // The other node stopped renewing - this one takes over
+        schedulerLeaseRepository.save(new SchedulerLease(TokenBlacklistService.CLEANUP_LEASE, "other-node",
+                LocalDateTime.now().minusSeconds(1)));
+
+        tokenBlacklistService.cleanupExpiredTokens();
+        assertThat(blacklistedTokenRepository.count()).isZero();
+        assertThat(schedulerLeaseRepository.findById(TokenBlacklistService.CLEANUP_LEASE).orElseThrow().getOwner())
+                .isNotEqualTo("other-node");
+    }
+
+    private void blacklist(String token, LocalDateTime expiresAt) {
+        blacklistedTokenRepository.save(new BlacklistedToken(token, expiresAt));
+    }
+
+    private double deletedCount() {
+        return meterRegistry.counter("blacklist.cleanup.deleted").count();
+    }
+}
@@ -0,0 +1,37 @@
+package com.syn.usermanagement.service;
+
+import com.syn.usermanagement.entity.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "jwt.expiration=500")
+class TokenEpochServiceTest {
+
+    @Autowired
+    private TokenEpochService tokenEpochService;
+
+    @Autowired
+    private UserService userService;
+
+    @Test
+    void revokesEarlierTokensAndPrunesEpochsOnceTheyHaveExpired() throws InterruptedException {
+        User user = new User();
+        user.setName("Epoch User");
+        user.setEmail("epoch-user@example.com");
+        user.setPassword("epoch-password");
+        User saved = userService.createUser(user);
+
+        long issuedBefore = System.currentTimeMillis() - 1;
+        userService.revokeAllTokens(saved.getId());
+        assertThat(tokenEpochService.isRevoked(saved.getId(), issuedBefore)).isTrue();
+        assertThat(tokenEpochService.isRevoked(saved.getId(), System.currentTimeMillis() + 1)).isFalse();
+
+        // Every token issued before the epoch has expired by now, so the entry goes
+        Thread.sleep(600);
+        tokenEpochService.reload();
+        assertThat(tokenEpochService.isRevoked(saved.getId(), issuedBefore)).isFalse();
+    }
+}
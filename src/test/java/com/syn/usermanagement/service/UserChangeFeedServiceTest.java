@@ -0,0 +1,85 @@
+package com.syn.usermanagement.service;
+
+import com.syn.usermanagement.dto.UserChangeEntry;
+import com.syn.usermanagement.dto.UserChangesResponse;
+import com.syn.usermanagement.dto.UserPatchRequest;
+import com.syn.usermanagement.entity.User;
+import com.syn.usermanagement.exception.CursorExpiredException;
+import com.syn.usermanagement.exception.InvalidRequestException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "users.changes.settle-ms=0")
+class UserChangeFeedServiceTest {
+
+    @Autowired
+    private UserChangeFeedService userChangeFeedService;
+
+    @Autowired
+    private UserService userService;
+
+    @Test
+    void feedReturnsLatestStateAndTombstonesAfterCursor() {
+        String cursor = drain(null, 100).cursor();
+
+        User kept = userService.createUser(newUser("feed-kept@example.com"));
+        User removed = userService.createUser(newUser("feed-removed@example.com"));
+        userService.patchUser(kept.getId(), new UserPatchRequest("Renamed", null, null), null);
+        userService.deleteUser(removed.getId());
+
+        // One entry per user, in the order of their latest change, read in batches of one
+        UserChangesResponse first = userChangeFeedService.changesSince(cursor, 1);
+        assertThat(first.hasMore()).isTrue();
+        UserChangesResponse rest = drain(first.cursor(), 1);
+
+        List<UserChangeEntry> changes = new ArrayList<>(first.changes());
+        changes.addAll(rest.changes());
+        assertThat(changes).extracting(UserChangeEntry::userId).containsExactly(kept.getId(), removed.getId());
+        assertThat(changes.get(0).deleted()).isFalse();
+        assertThat(changes.get(0).user().name()).isEqualTo("Renamed");
+        assertThat(changes.get(1).deleted()).isTrue();
+        assertThat(changes.get(1).user()).isNull();
+
+        // In sync: nothing new behind the last cursor
+        assertThat(userChangeFeedService.changesSince(rest.cursor(), 100).changes()).isEmpty();
+    }
+
+    @Test
+    void rejectsMalformedAndExpiredCursors() {
+        assertThatThrownBy(() -> userChangeFeedService.changesSince("not-a-cursor", 10))
+                .isInstanceOf(InvalidRequestException.class);
+
+        String expired = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(("1:" + (System.currentTimeMillis() - 30L * 24 * 3600 * 1000)).getBytes(StandardCharsets.UTF_8));
+        assertThatThrownBy(() -> userChangeFeedService.changesSince(expired, 10))
+                .isInstanceOf(CursorExpiredException.class);
+    }
+
+    private UserChangesResponse drain(String cursor, int limit) {
+        List<UserChangeEntry> changes = new ArrayList<>();
+        UserChangesResponse batch;
+        do {
+            batch = userChangeFeedService.changesSince(cursor, limit);
+            changes.addAll(batch.changes());
+            cursor = batch.cursor();
+        } while (batch.hasMore());
+        return new UserChangesResponse(changes, cursor, false);
+    }
+
+    private static User newUser(String email) {
+        User user = new User();
+        user.setName("Feed User");
+        user.setEmail(email);
+        user.setPassword("feed-password");
+        return user;
+    }
+}
@@ -0,0 +1,134 @@
+package com.syn.usermanagement.service;
+
+import com.syn.usermanagement.dto.UserEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserEventBroadcasterTest {
+
+    private UserEventBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        broadcaster = new UserEventBroadcaster();
+        ReflectionTestUtils.setField(broadcaster, "maxSubscribers", 2);
+        ReflectionTestUtils.setField(broadcaster, "bufferSize", 3);
+        ReflectionTestUtils.setField(broadcaster, "senderThreads", 1);
+        broadcaster.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.shutdown();
+    }
+
+    @Test
+    void slowSubscriberGetsCoalescedEventsThenResyncOnOverflow() throws Exception {
+        CapturingEmitter emitter = new CapturingEmitter();
+        assertThat(broadcaster.subscribe(emitter)).isTrue();
+        awaitSent(emitter, 1); // initial heartbeat
+
+        // Hold the sender inside a write while events pile up
+        emitter.block();
+        broadcaster.onUserEvent(event(1, 1));
+        awaitSent(emitter, 2);
+        broadcaster.onUserEvent(event(2, 1));
+        broadcaster.onUserEvent(event(2, 2));
+        broadcaster.onUserEvent(event(3, 1));
+        emitter.release();
+
+        awaitSent(emitter, 4);
+        assertThat(emitter.sent.subList(1, 4)).containsExactly("user 1/1", "user 2/2", "user 3/1");
+
+        // More distinct users pending than the buffer holds: dropped in favour of one resync,
+        // which the client answers with a reload that also covers anything until the resync is sent
+        emitter.block();
+        broadcaster.onUserEvent(event(1, 2));
+        awaitSent(emitter, 5);
+        for (int userId = 10; userId < 15; userId++) {
+            broadcaster.onUserEvent(event(userId, 1));
+        }
+        emitter.release();
+        awaitSent(emitter, 6);
+
+        broadcaster.onUserEvent(event(20, 1));
+        awaitSent(emitter, 7);
+        assertThat(emitter.sent.subList(4, 7)).containsExactly("user 1/2", "resync", "user 20/1");
+    }
+
+    @Test
+    void rejectsSubscribersOverTheLimit() {
+        assertThat(broadcaster.subscribe(new CapturingEmitter())).isTrue();
+        assertThat(broadcaster.subscribe(new CapturingEmitter())).isTrue();
+        assertThat(broadcaster.subscribe(new CapturingEmitter())).isFalse();
+        assertThat(broadcaster.getSubscriberCount()).isEqualTo(2);
+    }
+
+    private static UserEvent event(long userId, long version) {
+        return new UserEvent("UPDATED", userId, "User " + userId, "user" + userId + "@example.com",
+                null, "USER", version, LocalDateTime.now());
+    }
+
+    private static void awaitSent(CapturingEmitter emitter, int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (emitter.sent.size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(emitter.sent).hasSizeGreaterThanOrEqualTo(count);
+    }
+
+    /**
+     * Records each event as "name payload-summary"; block() makes the next send wait for release()
+     */
+    private static final class CapturingEmitter extends SseEmitter {
+
+        private final List<String> sent = new CopyOnWriteArrayList<>();
+        private volatile CountDownLatch gate = new CountDownLatch(0);
+
+        void block() {
+            gate = new CountDownLatch(1);
+        }
+
+        void release() {
+            gate.countDown();
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            String raw = builder.build().stream()
+                    .map(part -> part.getData() instanceof UserEvent event
+                            ? event.userId() + "/" + event.version()
+                            : part.getData().toString())
+                    .collect(Collectors.joining());
+            sent.add(summarize(raw));
+            try {
+                gate.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private static String summarize(String raw) {
+            if (raw.startsWith(":")) {
+                return "heartbeat";
+            }
+            if (raw.startsWith("event:resync")) {
+                return "resync";
+            }
+            return "user " + raw.substring(raw.indexOf("data:") + 5).trim();
+        }
+    }
+}
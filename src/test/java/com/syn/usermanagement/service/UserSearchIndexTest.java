@@ -0,0 +1,47 @@
+package com.syn.usermanagement.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserSearchIndexTest {
+
+    private final UserSearchIndex index = new UserSearchIndex(null);
+
+    @Test
+    void matchesPrefixesAndSubstringsOfNameAndEmail() {
+        index.upsert(1L, "John Smith", "john.smith@example.com");
+        index.upsert(2L, "Joanna Jones", "jo@corp.io");
+        index.upsert(3L, "Renée Blacksmith", "renee@example.com");
+
+        assertThat(index.search("jo", 10)).containsExactly(1L, 2L);
+        assertThat(index.search("smith", 10)).containsExactly(1L, 3L);
+        assertThat(index.search("renee", 10)).containsExactly(3L);
+        assertThat(index.search("john smi", 10)).containsExactly(1L);
+        assertThat(index.search("corp.io", 10)).containsExactly(2L);
+        assertThat(index.search("xyz", 10)).isEmpty();
+    }
+
+    @Test
+    void updatesAndDeletesAreVisible() {
+        index.upsert(1L, "John Smith", "john@example.com");
+        index.upsert(1L, "Jack Smith", "jack@example.com");
+        index.upsert(2L, "John Doe", "doe@example.com");
+        index.remove(2L);
+
+        assertThat(index.search("john", 10)).isEmpty();
+        assertThat(index.search("jack", 10)).containsExactly(1L);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void limitKeepsBestRankedResults() {
+        for (long id = 1; id <= 100; id++) {
+            index.upsert(id, "Member " + id, "user" + id + "@example.com");
+        }
+        index.upsert(500L, "Userman", "x@example.com");
+
+        // Name prefix match ranks above email matches, ties go to the lowest ids
+        assertThat(index.search("user", 3)).containsExactly(500L, 1L, 2L);
+    }
+}